@@ -0,0 +1,95 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+import java.lang.ref.Reference;
+
+/**
+ * Scaling benchmark of the draw: plays complete tournaments with draws
+ * growing by a factor of 4 up to a limit (2^20 players per category by
+ * default), and a field one player short of each size so the byes are
+ * exercised too.
+ * For each draw it prints the time to generate, draw and play everything
+ * and the heap retained by the finished tournament, per player. Both should
+ * stay flat as the draw grows; a rising column points at work or memory
+ * that is not linear in the field.
+ *
+ * Matches are played with the MatchKernel engine and the crowd is drawn in
+ * aggregate, so the figures are those of the bracket and the bookkeeping.
+ * Arguments: [largest draw size, default 2^20] (run with -Xmx4g or more)
+ */
+public class DrawScaling {
+
+    public static void main(String[] args) {
+        int largest = args.length > 0 ? Integer.parseInt(args[0]) : Tournament.MAX_DRAW_SIZE;
+
+        // Warm up on small draws so the first rows are not interpreted code
+        for (int i = 0; i < 20; i++) {
+            play(1024, i);
+        }
+
+        // Sizes down from the largest, so the largest is always measured
+        int smallest = largest;
+        while (smallest / 4 >= Tournament.MIN_DRAW_SIZE) {
+            smallest /= 4;
+        }
+
+        System.out.printf("%9s %7s %10s %12s %12s%n", "draw", "rounds", "time ms", "ns/player", "bytes/player");
+        for (int size = smallest; size <= largest; size *= 4) {
+            report(size);
+            if (size - 1 >= Tournament.MIN_DRAW_SIZE) {
+                report(size - 1);
+            }
+        }
+    }
+
+    private static void report(int drawSize) {
+        // Small draws are repeated, so every row plays at least 2^17 players;
+        // all of them are kept until measured, well above the heap's granularity
+        int repeats = Math.max(1, (1 << 16) / drawSize);
+        long players = 2L * drawSize * repeats;
+        Tournament[] tournaments = new Tournament[repeats];
+
+        long baseline = usedHeap();
+        long start = System.nanoTime();
+        for (int i = 0; i < repeats; i++) {
+            tournaments[i] = play(drawSize, i);
+        }
+        long elapsed = System.nanoTime() - start;
+        long retained = usedHeap() - baseline;
+        Reference.reachabilityFence(tournaments);
+
+        System.out.printf("%9d %7d %10.1f %12.0f %12.0f%n", drawSize, tournaments[0].getRoundNames().size(),
+                          elapsed / 1e6 / repeats, (double) elapsed / players, (double) retained / players);
+    }
+
+    private static Tournament play(int drawSize, long seed) {
+        Tournament tournament = new Tournament(Tournament.GrandSlam.WIMBLEDON, 2024, seed, drawSize);
+        tournament.setAnnouncer(SilentAnnouncer.INSTANCE);
+        tournament.setCrowdMode(Tournament.CrowdMode.AGGREGATE);
+        tournament.setEngine(Tournament.Engine.KERNEL);
+        tournament.generatePlayers();
+        tournament.generateReferees(15);
+        tournament.initializeFirstRound();
+
+        String round;
+        do {
+            round = tournament.getCurrentRound();
+            tournament.playCurrentRound();
+        } while (!round.equals("Finals"));
+        return tournament;
+    }
+
+    /**
+     * Gets the heap in use after a full collection
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+import java.util.List;
+
+/**
+ * Participants shared by the benchmarks: generated once from a fixed seed,
+ * with every announcement going to SilentAnnouncer so that the console
+ * is never part of what is measured.
+ */
+final class Fixtures {
+
+    static final long SEED = 2024;
+
+    private Fixtures() {
+        // Static helpers only
+    }
+
+    /**
+     * Creates a silent tournament with players and referees generated
+     * @param seed the tournament seed
+     * @return the tournament, first round not yet drawn
+     */
+    static Tournament silentTournament(long seed) {
+        Tournament tournament = new Tournament(Tournament.GrandSlam.WIMBLEDON, 2024, seed);
+        tournament.setAnnouncer(SilentAnnouncer.INSTANCE);
+        tournament.generatePlayers();
+        tournament.generateReferees(15);
+        return tournament;
+    }
+
+    /**
+     * Gets two players of a category from a silent tournament
+     * @param gender MALE for men's singles, FEMALE for women's singles
+     * @return the two players
+     */
+    static Player[] players(Player.Gender gender) {
+        Tournament tournament = silentTournament(SEED);
+        List<Player> players = (gender == Player.Gender.MALE) ? tournament.getMensPlayers()
+                                                              : tournament.getWomensPlayers();
+        return new Player[] {players.get(0), players.get(1)};
+    }
+
+    /**
+     * Gets a referee announcing to SilentAnnouncer
+     * @return the referee
+     */
+    static Referee referee() {
+        return silentTournament(SEED).getReferees().get(0);
+    }
+}
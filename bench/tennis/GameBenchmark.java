@@ -0,0 +1,65 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of a regular game, a tiebreak and a set
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameBenchmark {
+
+    private Player player1;
+    private Player player2;
+    private Referee referee;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        Player[] players = Fixtures.players(Player.Gender.MALE);
+        player1 = players[0];
+        player2 = players[1];
+        referee = Fixtures.referee();
+        random = new SplittableRandom(Fixtures.SEED);
+    }
+
+    @Benchmark
+    public Player regularGame() {
+        Game game = new Game(player1, player2, player1, referee, false, random);
+        game.play();
+        return game.getWinner();
+    }
+
+    @Benchmark
+    public Player tiebreak() {
+        Game game = new Game(player1, player2, player1, referee, true, random);
+        game.play();
+        return game.getWinner();
+    }
+
+    @Benchmark
+    public Player set() {
+        Set set = new Set(player1, player2, player1, referee, false, random);
+        set.play();
+        return set.getWinner();
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of complete matches: best of 3 (women) and best of 5 (men),
+ * with the Match objects and with MatchKernel
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchBenchmark {
+
+    private Player[] men;
+    private Player[] women;
+    private Referee referee;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        men = Fixtures.players(Player.Gender.MALE);
+        women = Fixtures.players(Player.Gender.FEMALE);
+        referee = Fixtures.referee();
+        random = new SplittableRandom(Fixtures.SEED);
+    }
+
+    @Benchmark
+    public Player bestOfThree() {
+        Match match = new Match(women[0], women[1], referee, Match.Category.WOMENS_SINGLES,
+                                "Finals", 2000, random);
+        match.play();
+        return match.getWinner();
+    }
+
+    @Benchmark
+    public Player bestOfFive() {
+        Match match = new Match(men[0], men[1], referee, Match.Category.MENS_SINGLES,
+                                "Finals", 2000, random);
+        match.play();
+        return match.getWinner();
+    }
+
+    @Benchmark
+    public long bestOfThreeKernel() {
+        return MatchKernel.simulate(random, 2, random.nextBoolean());
+    }
+
+    @Benchmark
+    public long bestOfFiveKernel() {
+        return MatchKernel.simulate(random, 3, random.nextBoolean());
+    }
+}
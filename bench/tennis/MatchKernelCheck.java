@@ -0,0 +1,126 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+import java.util.SplittableRandom;
+
+/**
+ * Checks that MatchKernel is equivalent to the Match, Set, Game and Rally objects.
+ * <ul>
+ * <li>Exact: from the same random stream both paths must produce the same
+ *     winner, set scores, points won and aces.</li>
+ * <li>Statistical: from independent streams the distributions of the final
+ *     set score (e.g. 3-1) and of the points played must agree (chi-square
+ *     test and comparison of the means).</li>
+ * </ul>
+ * Arguments: [matches per category]
+ */
+public class MatchKernelCheck {
+
+    public static void main(String[] args) {
+        int matches = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        boolean passed = true;
+
+        for (Match.Category category : Match.Category.values()) {
+            Player.Gender gender = (category == Match.Category.MENS_SINGLES) ? Player.Gender.MALE
+                                                                             : Player.Gender.FEMALE;
+            Player[] players = Fixtures.players(gender);
+            Referee referee = Fixtures.referee();
+            int setsToWin = (category == Match.Category.MENS_SINGLES) ? 3 : 2;
+
+            int mismatches = 0;
+            long[] objectScores = new long[2 * setsToWin];
+            long[] kernelScores = new long[2 * setsToWin];
+            double objectPoints = 0;
+            double kernelPoints = 0;
+
+            for (int i = 0; i < matches; i++) {
+                // Exact check from the same stream
+                Player player1 = new Player(players[0]);
+                Player player2 = new Player(players[1]);
+                Match match = new Match(player1, player2, referee, category, "Finals", 0,
+                                        new SplittableRandom(i));
+                match.play();
+
+                SplittableRandom random = new SplittableRandom(i);
+                boolean player1ServesFirst = random.nextBoolean();
+                long result = MatchKernel.simulate(random, setsToWin, player1ServesFirst);
+                if (!sameOutcome(match, result, player1, player2)) {
+                    mismatches++;
+                }
+
+                // Statistical check from independent streams
+                long independent = MatchKernel.simulate(new SplittableRandom(-1 - i), setsToWin,
+                                                        (i & 1) == 0);
+                objectScores[scoreIndex(match.getPlayer1Sets(), match.getPlayer2Sets(), setsToWin)]++;
+                kernelScores[scoreIndex(MatchKernel.getPlayer1Sets(independent),
+                                        MatchKernel.getPlayer2Sets(independent), setsToWin)]++;
+                objectPoints += player1.getPointsWon() + player2.getPointsWon();
+                kernelPoints += MatchKernel.getPlayer1Points(independent) + MatchKernel.getPlayer2Points(independent);
+            }
+
+            double chiSquare = chiSquare(objectScores, kernelScores);
+            int degrees = objectScores.length - 1;
+            // 99.9% quantile of chi-square for 3 and 5 degrees of freedom
+            double critical = (degrees == 3) ? 16.27 : 20.52;
+
+            System.out.println(category + ": " + matches + " matches");
+            System.out.println("  same-stream mismatches: " + mismatches);
+            System.out.printf("  set scores chi-square: %.2f (%d degrees, critical %.2f)%n",
+                              chiSquare, degrees, critical);
+            System.out.printf("  mean points per match: object %.2f, kernel %.2f%n",
+                              objectPoints / matches, kernelPoints / matches);
+
+            passed &= (mismatches == 0) && (chiSquare < critical);
+        }
+
+        System.out.println(passed ? "EQUIVALENT" : "NOT EQUIVALENT");
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean sameOutcome(Match match, long result, Player player1, Player player2) {
+        if ((match.getWinner() == player1) != MatchKernel.isPlayer1Winner(result)) {
+            return false;
+        }
+        if (match.getSets().size() != MatchKernel.getSetCount(result)) {
+            return false;
+        }
+        for (int i = 0; i < match.getSets().size(); i++) {
+            Set set = match.getSets().get(i);
+            if (set.getPlayer1Games() != MatchKernel.getPlayer1Games(result, i)
+                    || set.getPlayer2Games() != MatchKernel.getPlayer2Games(result, i)) {
+                return false;
+            }
+        }
+        return player1.getPointsWon() == MatchKernel.getPlayer1Points(result)
+               && player2.getPointsWon() == MatchKernel.getPlayer2Points(result)
+               && player1.getAces() == MatchKernel.getPlayer1Aces(result)
+               && player2.getAces() == MatchKernel.getPlayer2Aces(result);
+    }
+
+    /**
+     * Index of a final set score: winner first, then the loser's sets
+     */
+    private static int scoreIndex(int player1Sets, int player2Sets, int setsToWin) {
+        return (player1Sets == setsToWin) ? player2Sets : setsToWin + player1Sets;
+    }
+
+    /**
+     * Two-sample chi-square statistic for equal sample sizes
+     */
+    private static double chiSquare(long[] first, long[] second) {
+        double sum = 0;
+        for (int i = 0; i < first.length; i++) {
+            long total = first[i] + second[i];
+            if (total > 0) {
+                double difference = first[i] - second[i];
+                sum += difference * difference / total;
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of a single rally, the innermost step of every simulation
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RallyBenchmark {
+
+    private Player server;
+    private Player receiver;
+    private Referee referee;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        Player[] players = Fixtures.players(Player.Gender.MALE);
+        server = players[0];
+        receiver = players[1];
+        referee = Fixtures.referee();
+        random = new SplittableRandom(Fixtures.SEED);
+    }
+
+    @Benchmark
+    public Rally.Outcome rally() {
+        return new Rally(server, receiver, random).play(referee);
+    }
+}
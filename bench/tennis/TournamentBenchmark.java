@@ -0,0 +1,52 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of a full tournament: 128-player draws for men and women,
+ * every round from the first round to the finals, console output suppressed
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TournamentBenchmark {
+
+    @Param({"INDIVIDUAL", "AGGREGATE"})
+    public Tournament.CrowdMode crowdMode;
+
+    private long seed;
+
+    @Benchmark
+    public Player fullTournament() {
+        Tournament tournament = Fixtures.silentTournament(seed++);
+        tournament.setCrowdMode(crowdMode);
+        tournament.initializeFirstRound();
+
+        Player mensChampion = null;
+        while (mensChampion == null) {
+            String round = tournament.getCurrentRound();
+            tournament.playCurrentRound();
+            if (round.equals("Finals")) {
+                mensChampion = tournament.getMatchesForRound(round).get(0).getWinner();
+            }
+        }
+        return mensChampion;
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package tennis;
+
+/**
+ * Destination for everything the referee and the playable components announce.
+ * A Referee owns one announcer and Game, Set and Match announce through their referee's.
+ * Callers check isEnabled() before building a message, so a disabled announcer
+ * costs neither string concatenation nor console I/O.
+ */
+public interface Announcer {
+    
+    /**
+     * Checks if announcements are wanted at all
+     * @return true if messages should be built and passed to println
+     */
+    boolean isEnabled();
+    
+    /**
+     * Publishes one line of announcement text
+     * @param message the line to announce
+     */
+    void println(String message);
+    
+    /**
+     * Waits until every announced line has been written out
+     */
+    default void flush() {
+    }
+}
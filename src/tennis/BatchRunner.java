@@ -0,0 +1,347 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+
+/**
+ * Non-interactive entry point: plays one whole tournament chosen by
+ * command-line options and writes the match results and player statistics
+ * as CSV or JSON lines, for scripts and batch schedulers.
+ * <pre>
+ *   java tennis.BatchRunner [--grand-slam WIMBLEDON] [--year 2024] [--seed N]
+ *                           [--draw 128] [--referees 15] [--engine OBJECT|KERNEL]
+ *                           [--format csv|json] [--matches FILE] [--players FILE]
+ * </pre>
+ * FILE "-" is standard output; without --matches and --players nothing is
+ * written. Without --format, files ending in .json or .jsonl are JSON lines.
+ * Each round's matches are written as soon as the round is over and every
+ * record goes straight to a buffered writer, so memory does not grow with
+ * the output. Nothing is announced and the crowd is drawn in aggregate, so
+ * a short job spends its time playing, not starting up.
+ * Exit status: 0 on success, 1 if an output cannot be written, 2 for
+ * invalid options. With -Dtennis.metrics=true the MetricsRegistry report
+ * is printed to standard error at the end.
+ */
+public class BatchRunner {
+
+    private static final String[] MATCH_COLUMNS = {
+        "round", "category", "player1", "player2", "winner", "player1_sets", "player2_sets",
+        "score", "referee"
+    };
+
+    private static final String[] PLAYER_COLUMNS = {
+        "name", "gender", "ranking", "matches_won", "matches_lost", "sets_won", "sets_lost",
+        "games_won", "games_lost", "points_won", "points_lost", "aces", "double_faults",
+        "break_points_converted", "break_points_total"
+    };
+
+    private Tournament.GrandSlam grandSlam = Tournament.GrandSlam.WIMBLEDON;
+    private int year = 2024;
+    private long seed = new SplittableRandom().nextLong();
+    private int drawSize = Tournament.DEFAULT_DRAW_SIZE;
+    private int referees = 15;
+    private Tournament.Engine engine = Tournament.Engine.OBJECT;
+    private String format;        // Null infers the format from the file name
+    private String matchesPath;   // Null writes no match records
+    private String playersPath;   // Null writes no player records
+
+    public static void main(String[] args) {
+        BatchRunner runner = new BatchRunner();
+        Tournament tournament = null;
+        try {
+            runner.parse(args);
+            tournament = runner.createTournament();
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println(usage());
+            System.exit(2);
+        }
+
+        try {
+            runner.run(tournament);
+        } catch (IOException e) {
+            System.err.println("Error: cannot write output: " + e.getMessage());
+            System.exit(1);
+        }
+        if (MetricsRegistry.ENABLED) {
+            System.err.print(MetricsRegistry.getDefault().report());
+        }
+    }
+
+    private static String usage() {
+        return "Usage: java tennis.BatchRunner [--grand-slam WIMBLEDON] [--year 2024] [--seed N]\n"
+             + "         [--draw 128] [--referees 15] [--engine OBJECT|KERNEL]\n"
+             + "         [--format csv|json] [--matches FILE] [--players FILE]   (FILE - is stdout)";
+    }
+
+    /**
+     * Reads the options
+     * @param args pairs of option and value
+     */
+    private void parse(String[] args) {
+        if (args.length % 2 != 0) {
+            throw new IllegalArgumentException("Every option needs a value");
+        }
+        for (int i = 0; i < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--grand-slam" -> grandSlam = Tournament.GrandSlam.valueOf(value.toUpperCase());
+                case "--year" -> year = Integer.parseInt(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--draw" -> drawSize = Integer.parseInt(value);
+                case "--referees" -> referees = Integer.parseInt(value);
+                case "--engine" -> engine = Tournament.Engine.valueOf(value.toUpperCase());
+                case "--format" -> {
+                    if (!value.equals("csv") && !value.equals("json")) {
+                        throw new IllegalArgumentException("Format must be csv or json");
+                    }
+                    format = value;
+                }
+                case "--matches" -> matchesPath = value;
+                case "--players" -> playersPath = value;
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (referees < 1) {
+            throw new IllegalArgumentException("At least one referee is needed");
+        }
+    }
+
+    /**
+     * Creates the silent tournament the options describe, with its first round drawn
+     */
+    private Tournament createTournament() {
+        Tournament tournament = new Tournament(grandSlam, year, seed, drawSize);
+        tournament.setAnnouncer(SilentAnnouncer.INSTANCE);
+        tournament.setCrowdMode(Tournament.CrowdMode.AGGREGATE);
+        tournament.setEngine(engine);
+        tournament.generatePlayers();
+        tournament.generateReferees(referees);
+        tournament.initializeFirstRound();
+        return tournament;
+    }
+
+    /**
+     * Plays the tournament and writes the records
+     */
+    private void run(Tournament tournament) throws IOException {
+        // Both outputs are opened first, so a bad path fails before any match is played
+        try (RecordWriter matches = open(matchesPath, MATCH_COLUMNS);
+             RecordWriter players = open(playersPath, PLAYER_COLUMNS)) {
+            String round;
+            do {
+                round = tournament.getCurrentRound();
+                tournament.playCurrentRound();
+                if (matches != null) {
+                    for (Match match : tournament.getMatchesForRound(round)) {
+                        writeMatch(matches, match);
+                    }
+                }
+            } while (!round.equals("Finals"));
+
+            if (players != null) {
+                for (Player player : tournament.getMensPlayers()) {
+                    writePlayer(players, player);
+                }
+                for (Player player : tournament.getWomensPlayers()) {
+                    writePlayer(players, player);
+                }
+            }
+        }
+    }
+
+    private static void writeMatch(RecordWriter out, Match match) throws IOException {
+        out.begin();
+        out.field(match.getLevel());
+        out.field(match.getCategory().name());
+        out.field(match.getPlayer1().getFullName());
+        out.field(match.getPlayer2().getFullName());
+        out.field(match.getWinner().getFullName());
+        out.field(match.getPlayer1Sets());
+        out.field(match.getPlayer2Sets());
+
+        // Games of each set, player 1 first, e.g. 6-4 3-6 7-6
+        StringBuilder score = new StringBuilder();
+        for (int set = 0; set < match.getSetCount(); set++) {
+            score.append(set > 0 ? " " : "").append(match.getPlayer1Games(set))
+                 .append('-').append(match.getPlayer2Games(set));
+        }
+        out.field(score.toString());
+        out.field(match.getReferee().getFullName());
+        out.end();
+    }
+
+    private static void writePlayer(RecordWriter out, Player player) throws IOException {
+        out.begin();
+        out.field(player.getFullName());
+        out.field(player.getGender().name());
+        out.field(player.getRanking());
+        synchronized (player) {
+            out.field(player.getMatchesWon());
+            out.field(player.getMatchesLost());
+            out.field(player.getSetsWon());
+            out.field(player.getSetsLost());
+            out.field(player.getGamesWon());
+            out.field(player.getGamesLost());
+            out.field(player.getPointsWon());
+            out.field(player.getPointsLost());
+            out.field(player.getAces());
+            out.field(player.getDoubleFaults());
+            out.field(player.getBreakPointsConverted());
+            out.field(player.getBreakPointsTotal());
+        }
+        out.end();
+    }
+
+    /**
+     * Opens the writer of one output
+     * @param path a file name, "-" for standard output, null for no output
+     * @return the writer, null for no output
+     */
+    private RecordWriter open(String path, String[] columns) throws IOException {
+        if (path == null) {
+            return null;
+        }
+        boolean standardOutput = path.equals("-");
+        Writer out = standardOutput
+                     ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                     : Files.newBufferedWriter(Paths.get(path));
+        boolean json = (format != null) ? format.equals("json")
+                                        : path.endsWith(".json") || path.endsWith(".jsonl");
+        return json ? new JsonLinesWriter(out, !standardOutput, columns)
+                    : new CsvWriter(out, !standardOutput, columns);
+    }
+
+    /**
+     * Writes records field by field, in the order of its columns
+     */
+    private abstract static class RecordWriter implements AutoCloseable {
+
+        protected final Writer out;
+        protected final String[] columns;
+        protected int column;
+        private final boolean closeOut;  // Standard output is only flushed
+
+        private RecordWriter(Writer out, boolean closeOut, String[] columns) {
+            this.out = out;
+            this.closeOut = closeOut;
+            this.columns = columns;
+            this.column = 0;
+        }
+
+        void begin() throws IOException {
+            column = 0;
+        }
+
+        abstract void field(String value) throws IOException;
+
+        abstract void field(long value) throws IOException;
+
+        abstract void end() throws IOException;
+
+        @Override
+        public void close() throws IOException {
+            if (closeOut) {
+                out.close();
+            } else {
+                out.flush();
+            }
+        }
+    }
+
+    /**
+     * CSV with a header line, fields quoted when they hold commas or quotes
+     */
+    private static final class CsvWriter extends RecordWriter {
+
+        private CsvWriter(Writer out, boolean closeOut, String[] columns) throws IOException {
+            super(out, closeOut, columns);
+            out.write(String.join(",", columns));
+            out.write('\n');
+        }
+
+        private void separate() throws IOException {
+            if (column++ > 0) {
+                out.write(',');
+            }
+        }
+
+        @Override
+        void field(String value) throws IOException {
+            separate();
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+                out.write(value);
+            } else {
+                out.write('"');
+                out.write(value.replace("\"", "\"\""));
+                out.write('"');
+            }
+        }
+
+        @Override
+        void field(long value) throws IOException {
+            separate();
+            out.write(Long.toString(value));
+        }
+
+        @Override
+        void end() throws IOException {
+            out.write('\n');
+        }
+    }
+
+    /**
+     * One JSON object per line, named by the columns
+     */
+    private static final class JsonLinesWriter extends RecordWriter {
+
+        private JsonLinesWriter(Writer out, boolean closeOut, String[] columns) {
+            super(out, closeOut, columns);
+        }
+
+        private void name() throws IOException {
+            out.write(column == 0 ? "{\"" : ",\"");
+            out.write(columns[column++]);
+            out.write("\":");
+        }
+
+        @Override
+        void field(String value) throws IOException {
+            name();
+            out.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    out.write('\\');
+                    out.write(c);
+                } else if (c < 0x20) {
+                    out.write(String.format("\\u%04x", (int) c));
+                } else {
+                    out.write(c);
+                }
+            }
+            out.write('"');
+        }
+
+        @Override
+        void field(long value) throws IOException {
+            name();
+            out.write(Long.toString(value));
+        }
+
+        @Override
+        void end() throws IOException {
+            out.write("}\n");
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws binomially distributed counts in constant expected time.
+ * Used to produce crowd totals (hats, glasses, ...) without generating
+ * every spectator: the number of successes among n independent trials
+ * is drawn directly.
+ *
+ * Small means (n * p below 10) use inversion by geometric waiting times,
+ * larger ones the BTRS transformed rejection method of Hörmann (1993),
+ * which accepts about 9 out of 10 candidates without evaluating a logarithm.
+ */
+public final class BinomialSampler {
+
+    // Below this mean inversion is cheaper than rejection (and BTRS is not valid)
+    private static final double INVERSION_THRESHOLD = 10.0;
+
+    // Exact log(k!) for small k, Stirling's series is used above
+    private static final double[] LOG_FACTORIALS = new double[10];
+
+    static {
+        for (int k = 1; k < LOG_FACTORIALS.length; k++) {
+            LOG_FACTORIALS[k] = LOG_FACTORIALS[k - 1] + Math.log(k);
+        }
+    }
+
+    private BinomialSampler() {
+        // Static sampler only
+    }
+
+    /**
+     * Draws the number of successes in n independent trials
+     * @param random the random stream
+     * @param n number of trials (not negative)
+     * @param p probability of success of each trial
+     * @return a count between 0 and n
+     */
+    public static int sample(RandomGenerator random, int n, double p) {
+        if (random == null) {
+            throw new IllegalArgumentException("Random stream cannot be null");
+        }
+        if (n < 0) {
+            throw new IllegalArgumentException("Number of trials cannot be negative");
+        }
+        if (!(p >= 0.0 && p <= 1.0)) {
+            throw new IllegalArgumentException("Probability must be between 0 and 1: " + p);
+        }
+
+        if (n == 0 || p == 0.0) {
+            return 0;
+        }
+        if (p == 1.0) {
+            return n;
+        }
+        // Both methods work on the less likely outcome
+        if (p > 0.5) {
+            return n - sample(random, n, 1.0 - p);
+        }
+
+        if (n * p < INVERSION_THRESHOLD) {
+            return inversion(random, n, p);
+        }
+        return transformedRejection(random, n, p);
+    }
+
+    /**
+     * Counts successes by skipping geometric numbers of trials, about n * p + 1 steps
+     */
+    private static int inversion(RandomGenerator random, int n, double p) {
+        double logFailure = Math.log1p(-p);
+        long trials = 0;
+        int successes = 0;
+
+        while (true) {
+            // Trials up to and including the next success
+            double u = 1.0 - random.nextDouble();   // In (0, 1]
+            trials += Math.max(1L, (long) Math.ceil(Math.log(u) / logFailure));
+            if (trials > n) {
+                return successes;
+            }
+            successes++;
+        }
+    }
+
+    /**
+     * BTRS: transformed rejection with squeeze, valid for n * p >= 10 and p <= 0.5
+     */
+    private static int transformedRejection(RandomGenerator random, int n, double p) {
+        double q = 1.0 - p;
+        double spq = Math.sqrt(n * p * q);
+        double b = 1.15 + 2.53 * spq;
+        double a = -0.0873 + 0.0248 * b + 0.01 * p;
+        double c = n * p + 0.5;
+        double vr = 0.92 - 4.2 / b;
+        double alpha = (2.83 + 5.1 / b) * spq;
+        double logOdds = Math.log(p / q);
+        int mode = (int) Math.floor((n + 1) * p);
+        double logModeTerms = logFactorial(mode) + logFactorial(n - mode);
+
+        while (true) {
+            double u = random.nextDouble() - 0.5;
+            double v = random.nextDouble();
+            double us = 0.5 - Math.abs(u);
+            double candidate = Math.floor((2 * a / us + b) * u + c);
+            if (candidate < 0 || candidate > n) {
+                continue;
+            }
+            int k = (int) candidate;
+
+            // Squeeze: inside the region where the hat lies below the distribution
+            if (us >= 0.07 && v <= vr) {
+                return k;
+            }
+
+            // Compare with log(P(k) / P(mode))
+            v = Math.log(v * alpha / (a / (us * us) + b));
+            double bound = logModeTerms - logFactorial(k) - logFactorial(n - k) + (k - mode) * logOdds;
+            if (v <= bound) {
+                return k;
+            }
+        }
+    }
+
+    /**
+     * log(k!), exact for small k, Stirling's series with three correction terms above
+     */
+    private static double logFactorial(int k) {
+        if (k < LOG_FACTORIALS.length) {
+            return LOG_FACTORIALS[k];
+        }
+        double x = k + 1.0;
+        double inverse = 1.0 / x;
+        double inverseSquared = inverse * inverse;
+        double correction = inverse * (1.0 / 12 - inverseSquared * (1.0 / 360 - inverseSquared / 1260));
+        return (x - 0.5) * Math.log(x) - x + 0.5 * Math.log(2 * Math.PI) + correction;
+    }
+}
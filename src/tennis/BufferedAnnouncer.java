@@ -0,0 +1,161 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Announcer that hands lines to a background thread which writes them in batches.
+ * The simulating thread only pays for building the message and a queue insert,
+ * the console (or any other Writer) is written by the announcer's own thread.
+ */
+public class BufferedAnnouncer implements Announcer, AutoCloseable {
+
+    private static final int BATCH_SIZE = 1024;
+
+    // Marker lines, compared by identity only
+    private static final String FLUSH = new String("flush");
+    private static final String CLOSE = new String("close");
+
+    private final BlockingQueue<String> queue;
+    private final Writer out;
+    private final Thread writerThread;
+    private final Object flushLock;
+    private long flushesRequested;
+    private long flushesCompleted;
+    private volatile boolean closed;
+
+    /**
+     * Constructor for an announcer writing to the console
+     */
+    public BufferedAnnouncer() {
+        this(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Constructor for BufferedAnnouncer
+     * @param out where the announced lines are written
+     */
+    public BufferedAnnouncer(Writer out) {
+        if (out == null) {
+            throw new IllegalArgumentException("Writer cannot be null");
+        }
+
+        this.queue = new LinkedBlockingQueue<>();
+        this.out = new BufferedWriter(out, 64 * 1024);
+        this.flushLock = new Object();
+        this.flushesRequested = 0;
+        this.flushesCompleted = 0;
+        this.closed = false;
+        this.writerThread = new Thread(this::writeLoop, "announcer-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return !closed;
+    }
+
+    @Override
+    public void println(String message) {
+        if (!closed) {
+            queue.add(message);
+        }
+    }
+
+    /**
+     * Blocks until every line announced before this call has been written
+     */
+    @Override
+    public void flush() {
+        if (closed) {
+            return;
+        }
+
+        synchronized (flushLock) {
+            long ticket = ++flushesRequested;
+            queue.add(FLUSH);
+            while (flushesCompleted < ticket && writerThread.isAlive()) {
+                try {
+                    flushLock.wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the pending lines and stops the writer thread
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.add(CLOSE);
+
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Drains the queue in batches until closed
+     */
+    private void writeLoop() {
+        List<String> batch = new ArrayList<>(BATCH_SIZE);
+
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch, BATCH_SIZE - 1);
+
+                for (String line : batch) {
+                    if (line == FLUSH) {
+                        out.flush();
+                        synchronized (flushLock) {
+                            flushesCompleted++;
+                            flushLock.notifyAll();
+                        }
+                    } else if (line == CLOSE) {
+                        out.flush();
+                        return;
+                    } else {
+                        out.write(line);
+                        out.write(System.lineSeparator());
+                    }
+                }
+
+                batch.clear();
+                if (queue.isEmpty()) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            closed = true;
+            System.err.println("Announcer stopped: " + e.getMessage());
+        } catch (InterruptedException e) {
+            closed = true;
+        } finally {
+            synchronized (flushLock) {
+                flushLock.notifyAll();
+            }
+        }
+    }
+}
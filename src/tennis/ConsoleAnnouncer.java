@@ -0,0 +1,32 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+/**
+ * Announcer that writes every line straight to the console.
+ * This is the default for referees and tournaments (interactive use).
+ */
+public class ConsoleAnnouncer implements Announcer {
+    
+    /**
+     * Shared instance, the announcer is stateless
+     */
+    public static final ConsoleAnnouncer INSTANCE = new ConsoleAnnouncer();
+    
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+    
+    @Override
+    public void println(String message) {
+        System.out.println(message);
+    }
+    
+    @Override
+    public void flush() {
+        System.out.flush();
+    }
+}
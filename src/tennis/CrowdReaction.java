@@ -0,0 +1,87 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * ScoreEventBus consumer making the crowd react to every point as it is
+ * played: the excitement of the whole crowd follows the intensity of the
+ * rallies (Rally.getIntensity()), and the spectators of a watched section
+ * react one by one (Spectator.reactToAction()). It runs on the bus's
+ * consumer thread, so a large or chatty section slows the crowd down, never
+ * the match.
+ */
+public class CrowdReaction implements ScoreEventHandler {
+
+    // Weight of the newest point in the crowd's excitement
+    private static final double SMOOTHING = 0.05;
+
+    private final List<Spectator> section;
+    private volatile double excitement;
+    private volatile long pointsWatched;
+    private volatile long loudPoints;
+
+    /**
+     * Constructor for a crowd without a watched section
+     */
+    public CrowdReaction() {
+        this(List.of());
+    }
+
+    /**
+     * Constructor for CrowdReaction
+     * @param section spectators reacting to each point themselves
+     */
+    public CrowdReaction(Collection<Spectator> section) {
+        if (section == null) {
+            throw new IllegalArgumentException("Section cannot be null");
+        }
+        this.section = new ArrayList<>(section);
+        this.excitement = 0.5;
+        this.pointsWatched = 0;
+        this.loudPoints = 0;
+    }
+
+    @Override
+    public void onEvent(ScoreEvent event, long sequence, boolean endOfBatch) {
+        if (!event.isPoint()) {
+            return;
+        }
+        double intensity = event.getIntensity();
+        for (Spectator spectator : section) {
+            spectator.reactToAction(intensity);
+        }
+
+        // Only this consumer's thread writes, others just read
+        excitement += SMOOTHING * (intensity - excitement);
+        pointsWatched++;
+        if (intensity > 0.8) {
+            loudPoints++;
+        }
+    }
+
+    /**
+     * Gets the excitement of the crowd, a moving average of the rallies' intensity
+     * @return 0.0 to 1.0
+     */
+    public double getExcitement() {
+        return excitement;
+    }
+
+    public long getPointsWatched() {
+        return pointsWatched;
+    }
+
+    /**
+     * Gets the number of points exciting enough for the crowd to cheer (intensity above 0.8)
+     * @return the loud points
+     */
+    public long getLoudPoints() {
+        return loudPoints;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+/**
+ * Elo rating model: the winner takes K times the probability of the upset
+ * from the loser, where a difference of 400 points means 10 to 1 odds.
+ */
+public class EloRating implements RatingModel {
+
+    public static final double DEFAULT_K_FACTOR = 32;
+
+    private final double kFactor;
+
+    /**
+     * Constructor for EloRating with the default K factor
+     */
+    public EloRating() {
+        this(DEFAULT_K_FACTOR);
+    }
+
+    /**
+     * Constructor for EloRating
+     * @param kFactor the most points a match can move a rating
+     */
+    public EloRating(double kFactor) {
+        if (!(kFactor > 0)) {
+            throw new IllegalArgumentException("K factor must be positive");
+        }
+        this.kFactor = kFactor;
+    }
+
+    public double getKFactor() {
+        return kFactor;
+    }
+
+    @Override
+    public double getInitialDeviation() {
+        return 0;
+    }
+
+    @Override
+    public void rate(double[] ratings) {
+        // Probability that the loser would have won
+        double upset = 1.0 / (1.0 + Math.pow(10, (ratings[0] - ratings[2]) / 400));
+        ratings[0] += kFactor * upset;
+        ratings[2] -= kFactor * upset;
+    }
+
+    @Override
+    public String toString() {
+        return "Elo (K = " + kFactor + ")";
+    }
+}
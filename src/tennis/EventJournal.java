@@ -0,0 +1,453 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only binary journal of everything that happens in a tournament:
+ * every point, ace and double fault, every game, set and match, and every
+ * round advanced. Each event is one 16-byte record:
+ * <pre>
+ *   byte  0      event type (Type ordinal + 1, 0 marks a slot never written)
+ *   byte  1      winner: 1 = player 1, 2 = player 2, 0 for round events
+ *   bytes 2-3    score after the event, player 1 then player 2
+ *                (game points, games of the set or sets of the match)
+ *   bytes 4-7    match id, -1 for round events
+ *   bytes 8-11   number of the event within its match
+ *   bytes 12-15  detail: shot count (points), set number (games and sets),
+ *                sets played (matches), index of the new round (round events)
+ * </pre>
+ * Every match appends through its own Writer, which collects records in a
+ * private buffer and writes a full buffer (and the rest once the match is
+ * over) with one positional write into a region reserved by a single atomic
+ * add. Parallel matches therefore never wait for each other. A commit thread
+ * forces the written records to the device every few milliseconds, so one
+ * force covers the writes of all matches (group commit); sync() waits for it.
+ */
+public class EventJournal implements AutoCloseable {
+
+    /**
+     * Types of journal events
+     */
+    public enum Type {
+        POINT, ACE, DOUBLE_FAULT, GAME, SET, MATCH, ROUND_ADVANCED
+    }
+
+    public static final int RECORD_SIZE = 16;
+    public static final long DEFAULT_COMMIT_INTERVAL_MILLIS = 5;
+
+    private static final int RECORDS_PER_BUFFER = 512;
+    private static final long WINDOW_SIZE = 1L << 30;  // A whole number of records
+
+    private final FileChannel channel;
+    private final AtomicLong position;       // End of the last reserved region
+    private final AtomicLong bytesWritten;   // Bytes whose write has completed
+    private final long commitIntervalMillis;
+    private final Thread commitThread;
+    private final Object commitLock;
+    private long bytesDurable;               // Guarded by commitLock
+    private boolean commitRequested;         // Guarded by commitLock
+    private IOException commitFailure;       // Guarded by commitLock
+    private volatile boolean closed;
+
+    /**
+     * Constructor for a journal forcing every DEFAULT_COMMIT_INTERVAL_MILLIS
+     * @param path the journal file, created if missing and appended to otherwise
+     * @throws IOException if the file cannot be opened
+     */
+    public EventJournal(Path path) throws IOException {
+        this(path, DEFAULT_COMMIT_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Constructor for EventJournal
+     * @param path the journal file, created if missing and appended to otherwise
+     * @param commitIntervalMillis longest time between two forces of written records
+     * @throws IOException if the file cannot be opened
+     */
+    public EventJournal(Path path, long commitIntervalMillis) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+        if (commitIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Commit interval must be positive");
+        }
+
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                                        StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // A torn last record from an earlier run is overwritten
+        long end = channel.size() - channel.size() % RECORD_SIZE;
+        this.position = new AtomicLong(end);
+        this.bytesWritten = new AtomicLong(0);
+        this.commitIntervalMillis = commitIntervalMillis;
+        this.commitLock = new Object();
+        this.bytesDurable = 0;
+        this.commitRequested = false;
+        this.commitFailure = null;
+        this.closed = false;
+        this.commitThread = new Thread(this::commitLoop, "journal-commit");
+        this.commitThread.setDaemon(true);
+        this.commitThread.start();
+    }
+
+    /**
+     * Creates the writer through which a match appends its events.
+     * Add it to the match with match.addListener() before the match starts.
+     * @param match the match to journal
+     * @param matchId the id recorded with the match's events
+     * @return a new writer
+     */
+    public Writer writer(Match match, int matchId) {
+        if (match == null) {
+            throw new IllegalArgumentException("Match cannot be null");
+        }
+        return new Writer(match, matchId);
+    }
+
+    /**
+     * Creates a ScoreEventBus consumer journaling the events of the bus, so
+     * the threads playing the matches never write to the journal themselves.
+     * The records of each batch are written together.
+     * Subscribe it with ScoreEventBus.Overflow.BLOCK: with DROP the journal
+     * silently misses the events overwritten while it is a ring behind
+     * (only counted by Subscription.getDroppedCount()).
+     * @return a new handler, for one subscription
+     */
+    public ScoreEventHandler subscriber() {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORDS_PER_BUFFER * RECORD_SIZE);
+        return (event, sequence, endOfBatch) -> {
+            put(buffer, event.getType(), event.getWinner(), event.getPlayer1Score(),
+                event.getPlayer2Score(), event.getMatchId(), event.getSequence(), event.getDetail());
+            if (endOfBatch || !buffer.hasRemaining()) {
+                buffer.flip();
+                append(buffer);
+                buffer.clear();
+            }
+        };
+    }
+
+    /**
+     * Appends a round advanced event
+     * @param roundIndex index of the round the tournament advanced to
+     */
+    public void recordRoundAdvanced(int roundIndex) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        put(record, Type.ROUND_ADVANCED, 0, 0, 0, -1, 0, roundIndex);
+        record.flip();
+        append(record);
+    }
+
+    private static void put(ByteBuffer buffer, Type type, int winner, int score1, int score2,
+                            int matchId, int sequence, int detail) {
+        buffer.put((byte) (type.ordinal() + 1));
+        buffer.put((byte) winner);
+        buffer.put((byte) Math.min(score1, 255));
+        buffer.put((byte) Math.min(score2, 255));
+        buffer.putInt(matchId);
+        buffer.putInt(sequence);
+        buffer.putInt(detail);
+    }
+
+    /**
+     * Writes the records of a buffer into a region reserved for them alone
+     */
+    private void append(ByteBuffer records) {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        int length = records.remaining();
+        long offset = position.getAndAdd(length);
+        try {
+            while (records.hasRemaining()) {
+                offset += channel.write(records, offset);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Journal write failed", e);
+        }
+        bytesWritten.addAndGet(length);
+    }
+
+    /**
+     * Blocks until every record written before this call is on the device.
+     * Records still buffered by a match's Writer are not covered.
+     * @throws IOException if forcing the journal failed
+     */
+    public void sync() throws IOException {
+        long target = bytesWritten.get();
+        synchronized (commitLock) {
+            while (bytesDurable < target && commitFailure == null && commitThread.isAlive()) {
+                commitRequested = true;
+                commitLock.notifyAll();
+                try {
+                    commitLock.wait(commitIntervalMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            if (commitFailure != null) {
+                throw commitFailure;
+            }
+        }
+    }
+
+    /**
+     * Forces the written records once per interval, or sooner when sync() asks
+     */
+    private void commitLoop() {
+        try {
+            while (true) {
+                synchronized (commitLock) {
+                    if (!commitRequested && !closed) {
+                        commitLock.wait(commitIntervalMillis);
+                    }
+                    commitRequested = false;
+                }
+
+                // Every byte counted here has been written, so one force covers all of them
+                long written = bytesWritten.get();
+                boolean pending;
+                synchronized (commitLock) {
+                    pending = written > bytesDurable;
+                }
+                if (pending) {
+                    channel.force(false);
+                }
+                synchronized (commitLock) {
+                    bytesDurable = written;
+                    commitLock.notifyAll();
+                }
+                if (closed && bytesWritten.get() == written) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            synchronized (commitLock) {
+                commitFailure = e;
+                commitLock.notifyAll();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the number of records in the journal, those of earlier runs included
+     * @return the record count
+     */
+    public long getRecordCount() {
+        return position.get() / RECORD_SIZE;
+    }
+
+    /**
+     * Forces the remaining records and closes the file.
+     * Records still buffered by a Writer of an unfinished match are lost.
+     * @throws IOException if the last force or the close failed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        synchronized (commitLock) {
+            commitLock.notifyAll();
+        }
+        try {
+            commitThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        synchronized (commitLock) {
+            if (commitFailure != null) {
+                throw commitFailure;
+            }
+        }
+    }
+
+    /**
+     * Appends the events of one match. A writer is only used by the thread
+     * playing its match, so it needs no synchronization of its own.
+     */
+    public class Writer implements MatchListener {
+
+        private final Match match;
+        private final int matchId;
+        private final ByteBuffer buffer;
+        private int sequence;
+        private int setNumber;
+
+        private Writer(Match match, int matchId) {
+            this.match = match;
+            this.matchId = matchId;
+            this.buffer = ByteBuffer.allocate(RECORDS_PER_BUFFER * RECORD_SIZE);
+            this.sequence = 0;
+            this.setNumber = 0;
+        }
+
+        @Override
+        public void onPoint(Rally rally, boolean serverWon) {
+            Type type = rally.isAce() ? Type.ACE
+                      : rally.isDoubleFault() ? Type.DOUBLE_FAULT
+                      : Type.POINT;
+            // Rally.getWinner() is only known for aces and double faults
+            Player winner = serverWon ? rally.getServer() : rally.getReceiver();
+            record(type, side(winner), match.getPlayer1Points(), match.getPlayer2Points(),
+                   rally.getShotCount());
+        }
+
+        @Override
+        public void onGameComplete(Set set, Game game) {
+            record(Type.GAME, side(game.getWinner()), set.getPlayer1Games(), set.getPlayer2Games(),
+                   setNumber);
+        }
+
+        @Override
+        public void onSetComplete(Match match, Set set) {
+            record(Type.SET, side(set.getWinner()), match.getPlayer1Sets(), match.getPlayer2Sets(),
+                   setNumber++);
+        }
+
+        @Override
+        public void onMatchComplete(Match match) {
+            record(Type.MATCH, side(match.getWinner()), match.getPlayer1Sets(), match.getPlayer2Sets(),
+                   match.getPlayer1Sets() + match.getPlayer2Sets());
+            flush();
+        }
+
+        private int side(Player player) {
+            return (player == match.getPlayer1()) ? 1 : 2;
+        }
+
+        private void record(Type type, int winner, int score1, int score2, int detail) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            put(buffer, type, winner, score1, score2, matchId, sequence++, detail);
+        }
+
+        /**
+         * Writes the buffered records to the journal
+         */
+        public void flush() {
+            if (buffer.position() == 0) {
+                return;
+            }
+            buffer.flip();
+            append(buffer);
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Opens a journal file for reading. The file is mapped in windows of
+     * WINDOW_SIZE bytes, since one mapping cannot exceed 2 GiB.
+     * @param path the journal file
+     * @return a reader positioned before the first record
+     * @throws IOException if the file cannot be read
+     */
+    public static Reader read(Path path) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = in.size() - in.size() % RECORD_SIZE;
+            MappedByteBuffer[] windows = new MappedByteBuffer[(int) ((length + WINDOW_SIZE - 1) / WINDOW_SIZE)];
+            for (int i = 0; i < windows.length; i++) {
+                long start = i * WINDOW_SIZE;
+                windows[i] = in.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_SIZE, length - start));
+            }
+            return new Reader(windows, length);
+        }
+    }
+
+    /**
+     * Reads the records of a journal file one after another,
+     * skipping slots that were reserved but never written
+     */
+    public static class Reader {
+
+        private static final Type[] TYPES = Type.values();
+
+        private final MappedByteBuffer[] windows;
+        private final long length;
+        private long position;              // Of the current record in the file
+        private MappedByteBuffer records;   // Window holding the current record
+        private int offset;                 // Of the current record in its window
+
+        private Reader(MappedByteBuffer[] windows, long length) {
+            this.windows = windows;
+            this.length = length;
+            this.position = -RECORD_SIZE;
+            this.records = null;
+            this.offset = 0;
+        }
+
+        /**
+         * Moves to the next record
+         * @return false once there are no more records
+         */
+        public boolean next() {
+            do {
+                position += RECORD_SIZE;
+                if (position >= length) {
+                    return false;
+                }
+                records = windows[(int) (position / WINDOW_SIZE)];
+                offset = (int) (position % WINDOW_SIZE);
+            } while (records.get(offset) == 0);
+            return true;
+        }
+
+        /**
+         * Gets the position of the current record in the file
+         * @return the offset in bytes
+         */
+        public long getPosition() {
+            return position;
+        }
+
+        public Type getType() {
+            return TYPES[records.get(offset) - 1];
+        }
+
+        /**
+         * Gets the winner of the event
+         * @return 1 for player 1, 2 for player 2, 0 for round events
+         */
+        public int getWinner() {
+            return records.get(offset + 1);
+        }
+
+        public int getPlayer1Score() {
+            return records.get(offset + 2) & 0xFF;
+        }
+
+        public int getPlayer2Score() {
+            return records.get(offset + 3) & 0xFF;
+        }
+
+        public int getMatchId() {
+            return records.getInt(offset + 4);
+        }
+
+        public int getSequence() {
+            return records.getInt(offset + 8);
+        }
+
+        public int getDetail() {
+            return records.getInt(offset + 12);
+        }
+    }
+}
@@ -4,6 +4,8 @@
  */
 package tennis;
 
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a game in a tennis set.
@@ -15,12 +17,18 @@ public class Game implements Playable {
     private Player player1;
     private Player player2;
     private Player server;
-    private int player1Points;
-    private int player2Points;
+    // Volatile so that a scoreboard on another thread can follow the game
+    private volatile int player1Points;
+    private volatile int player2Points;
+    private volatile Player pointServer;  // Server of the next point, changes in a tiebreak
     private Player winner;
-    private boolean isComplete;
+    private volatile boolean isComplete;
     private boolean isTiebreak;
     private Referee referee;
+    private RandomGenerator random;
+    private MatchListener listener;
+    private PointLog.Cursor replay;   // Recorded points replayed instead of playing rallies
+    private Match match;              // Owning match, null when played on its own
     
     /**
      * Constructor for regular game
@@ -30,6 +38,32 @@ public class Game implements Playable {
      * @param referee the referee officiating
      */
     public Game(Player player1, Player player2, Player server, Referee referee) {
+        this(player1, player2, server, referee, false, new SplittableRandom());
+    }
+    
+    /**
+     * Constructor for tiebreak game
+     * @param player1 the first player
+     * @param player2 the second player
+     * @param server the player serving first
+     * @param referee the referee officiating
+     * @param isTiebreak true if this is a tiebreak game
+     */
+    public Game(Player player1, Player player2, Player server, Referee referee, boolean isTiebreak) {
+        this(player1, player2, server, referee, isTiebreak, new SplittableRandom());
+    }
+    
+    /**
+     * Constructor for a game drawing from the match's random stream
+     * @param player1 the first player
+     * @param player2 the second player
+     * @param server the player serving (first)
+     * @param referee the referee officiating
+     * @param isTiebreak true if this is a tiebreak game
+     * @param random the match's random number stream, shared by all rallies
+     */
+    public Game(Player player1, Player player2, Player server, Referee referee,
+                boolean isTiebreak, RandomGenerator random) {
         if (player1 == null || player2 == null) {
             throw new IllegalArgumentException("Players cannot be null");
         }
@@ -42,6 +76,9 @@ public class Game implements Playable {
         if (referee == null) {
             throw new IllegalArgumentException("Referee cannot be null");
         }
+        if (random == null) {
+            throw new IllegalArgumentException("Random generator cannot be null");
+        }
         
         this.player1 = player1;
         this.player2 = player2;
@@ -49,22 +86,45 @@ public class Game implements Playable {
         this.referee = referee;
         this.player1Points = 0;
         this.player2Points = 0;
+        this.pointServer = server;
         this.winner = null;
         this.isComplete = false;
-        this.isTiebreak = false;
+        this.isTiebreak = isTiebreak;
+        this.random = random;
+        this.listener = null;
+        this.replay = null;
+        this.match = null;
     }
     
     /**
-     * Constructor for tiebreak game
-     * @param player1 the first player
-     * @param player2 the second player
-     * @param server the player serving first
-     * @param referee the referee officiating
-     * @param isTiebreak true if this is a tiebreak game
+     * Sets the listener told about every point, passed down from the match
+     * @param listener the listener, or null
      */
-    public Game(Player player1, Player player2, Player server, Referee referee, boolean isTiebreak) {
-        this(player1, player2, server, referee);
-        this.isTiebreak = isTiebreak;
+    void setListener(MatchListener listener) {
+        this.listener = listener;
+    }
+    
+    /**
+     * Makes the game replay recorded points, passed down from the match
+     * @param replay cursor into the match's point log, or null to play rallies
+     */
+    void setReplay(PointLog.Cursor replay) {
+        this.replay = replay;
+    }
+    
+    /**
+     * Sets the match the game belongs to, passed down from the match
+     * @param match the match, or null
+     */
+    void setMatch(Match match) {
+        this.match = match;
+    }
+    
+    /**
+     * Plays or replays one rally
+     */
+    private Rally.Outcome playRally(Rally rally) {
+        return (replay != null) ? rally.replay(referee, replay.next()) : rally.play(referee);
     }
     
     /**
@@ -72,13 +132,19 @@ public class Game implements Playable {
      */
     @Override
     public void play() {
-        referee.announceServer(server.getFullName());
+        long start = MetricsRegistry.ENABLED ? System.nanoTime() : 0;
+        if (referee.isAnnouncing()) {
+            referee.announceServer(server.getFullName());
+        }
         
         if (isTiebreak) {
             playTiebreak();
         } else {
             playRegularGame();
         }
+        if (MetricsRegistry.ENABLED) {
+            MetricsRegistry.GAMES.record(System.nanoTime() - start);
+        }
     }
     
     /**
@@ -89,8 +155,8 @@ public class Game implements Playable {
         
         while (!isComplete) {
             // Play a rally
-            Rally rally = new Rally(server, receiver);
-            Rally.Outcome outcome = rally.play(referee);
+            Rally rally = new Rally(server, receiver, random);
+            Rally.Outcome outcome = playRally(rally);
             
             // Update points
             if (outcome == Rally.Outcome.PLAYER1_WINS || outcome == Rally.Outcome.ACE) {
@@ -107,11 +173,17 @@ public class Game implements Playable {
                 }
             }
             
+            if (listener != null) {
+                listener.onPoint(rally, outcome == Rally.Outcome.PLAYER1_WINS);
+            }
+            
             // Announce score
-            int p1Score = (server == player1) ? player1Points : player2Points;
-            int p2Score = (server == player1) ? player2Points : player1Points;
-            referee.announceScore(server.getFullName(), p1Score, 
-                                 receiver.getFullName(), p2Score);
+            if (referee.isAnnouncing()) {
+                int p1Score = (server == player1) ? player1Points : player2Points;
+                int p2Score = (server == player1) ? player2Points : player1Points;
+                referee.announceScore(server.getFullName(), p1Score, 
+                                     receiver.getFullName(), p2Score);
+            }
             
             // Check for game winner
             checkGameWinner();
@@ -122,15 +194,20 @@ public class Game implements Playable {
      * Plays a tiebreak game (first to 7 points with 2-point margin)
      */
     private void playTiebreak() {
-        System.out.println("*** TIEBREAK ***");
+        SimulationEvents.TiebreakEvent event = new SimulationEvents.TiebreakEvent();
+        event.begin();
+        Announcer announcer = referee.getAnnouncer();
+        if (announcer.isEnabled()) {
+            announcer.println("*** TIEBREAK ***");
+        }
         Player currentServer = server;
         Player receiver = (server == player1) ? player2 : player1;
         int pointsPlayed = 0;
         
         while (!isComplete) {
             // Play a rally
-            Rally rally = new Rally(currentServer, receiver);
-            Rally.Outcome outcome = rally.play(referee);
+            Rally rally = new Rally(currentServer, receiver, random);
+            Rally.Outcome outcome = playRally(rally);
             
             // Update points
             if (outcome == Rally.Outcome.PLAYER1_WINS || outcome == Rally.Outcome.ACE) {
@@ -147,18 +224,27 @@ public class Game implements Playable {
                 }
             }
             
+            if (listener != null) {
+                listener.onPoint(rally, outcome == Rally.Outcome.PLAYER1_WINS);
+            }
+            
             pointsPlayed++;
             
             // Announce score
-            System.out.println(player1.getDisplayName() + " " + player1Points + 
-                             " - " + player2Points + " " + player2.getDisplayName());
+            if (announcer.isEnabled()) {
+                announcer.println(player1.getDisplayName() + " " + player1Points + 
+                                 " - " + player2Points + " " + player2.getDisplayName());
+            }
             
             // Switch server after first point, then every 2 points
             if (pointsPlayed == 1 || (pointsPlayed > 1 && (pointsPlayed - 1) % 2 == 0)) {
                 Player temp = currentServer;
                 currentServer = receiver;
                 receiver = temp;
-                referee.announceServer(currentServer.getFullName());
+                pointServer = currentServer;
+                if (announcer.isEnabled()) {
+                    referee.announceServer(currentServer.getFullName());
+                }
             }
             
             // Check for tiebreak winner (first to 7 with 2-point margin)
@@ -178,7 +264,13 @@ public class Game implements Playable {
             }
         }
         
-        referee.announceGameWinner(winner.getFullName());
+        if (event.shouldCommit()) {
+            event.fill(match, this);
+            event.commit();
+        }
+        if (announcer.isEnabled()) {
+            referee.announceGameWinner(winner.getFullName());
+        }
     }
     
     /**
@@ -201,7 +293,9 @@ public class Game implements Playable {
                 }
                 
                 isComplete = true;
-                referee.announceGameWinner(winner.getFullName());
+                if (referee.isAnnouncing()) {
+                    referee.announceGameWinner(winner.getFullName());
+                }
             }
         }
     }
@@ -219,6 +313,14 @@ public class Game implements Playable {
         return server;
     }
     
+    /**
+     * Gets the server of the next point, which changes every two points in a tiebreak
+     * @return the player serving next
+     */
+    Player getPointServer() {
+        return pointServer;
+    }
+    
     public int getPlayer1Points() {
         return player1Points;
     }
@@ -0,0 +1,112 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+/**
+ * Glicko rating model (Glickman, 1999), with every match as its own rating
+ * period. Each rating carries a deviation: uncertain ratings move further
+ * and weigh less on their opponent's. The deviation shrinks with every
+ * match and grows back by a constant before each match, up to the
+ * deviation of a new player.
+ */
+public class GlickoRating implements RatingModel {
+
+    public static final double DEFAULT_INITIAL_DEVIATION = 350;
+    public static final double DEFAULT_DEVIATION_GROWTH = 15;
+
+    private static final double Q = Math.log(10) / 400;
+
+    private final double initialDeviation;
+    private final double deviationGrowth;
+
+    /**
+     * Constructor for GlickoRating with the default deviations
+     */
+    public GlickoRating() {
+        this(DEFAULT_INITIAL_DEVIATION, DEFAULT_DEVIATION_GROWTH);
+    }
+
+    /**
+     * Constructor for GlickoRating
+     * @param initialDeviation deviation of a new player, also the largest deviation
+     * @param deviationGrowth deviation added (in quadrature) before every match
+     */
+    public GlickoRating(double initialDeviation, double deviationGrowth) {
+        if (!(initialDeviation > 0)) {
+            throw new IllegalArgumentException("Initial deviation must be positive");
+        }
+        if (!(deviationGrowth >= 0)) {
+            throw new IllegalArgumentException("Deviation growth cannot be negative");
+        }
+        this.initialDeviation = initialDeviation;
+        this.deviationGrowth = deviationGrowth;
+    }
+
+    public double getDeviationGrowth() {
+        return deviationGrowth;
+    }
+
+    @Override
+    public double getInitialDeviation() {
+        return initialDeviation;
+    }
+
+    @Override
+    public void rate(double[] ratings) {
+        double winnerDeviation = grow(ratings[1]);
+        double loserDeviation = grow(ratings[3]);
+        double winner = ratings[0];
+        double loser = ratings[2];
+
+        ratings[0] = updatedRating(winner, winnerDeviation, loser, loserDeviation, 1);
+        ratings[1] = updatedDeviation(winner, winnerDeviation, loser, loserDeviation);
+        ratings[2] = updatedRating(loser, loserDeviation, winner, winnerDeviation, 0);
+        ratings[3] = updatedDeviation(loser, loserDeviation, winner, winnerDeviation);
+    }
+
+    private double grow(double deviation) {
+        return Math.min(Math.sqrt(deviation * deviation + deviationGrowth * deviationGrowth),
+                        initialDeviation);
+    }
+
+    /**
+     * Weight of an opponent's rating, lower when it is uncertain
+     */
+    private static double g(double deviation) {
+        return 1.0 / Math.sqrt(1 + 3 * Q * Q * deviation * deviation / (Math.PI * Math.PI));
+    }
+
+    private static double expected(double rating, double opponent, double opponentDeviation) {
+        return 1.0 / (1.0 + Math.pow(10, -g(opponentDeviation) * (rating - opponent) / 400));
+    }
+
+    /**
+     * 1 / (1 / RD^2 + 1 / d^2), the variance of the rating after the match
+     */
+    private static double posteriorVariance(double rating, double deviation,
+                                            double opponent, double opponentDeviation) {
+        double weight = g(opponentDeviation);
+        double e = expected(rating, opponent, opponentDeviation);
+        double inverseDSquared = Q * Q * weight * weight * e * (1 - e);
+        return 1.0 / (1.0 / (deviation * deviation) + inverseDSquared);
+    }
+
+    private static double updatedRating(double rating, double deviation, double opponent,
+                                        double opponentDeviation, double score) {
+        double variance = posteriorVariance(rating, deviation, opponent, opponentDeviation);
+        return rating + Q * variance * g(opponentDeviation)
+                      * (score - expected(rating, opponent, opponentDeviation));
+    }
+
+    private static double updatedDeviation(double rating, double deviation,
+                                           double opponent, double opponentDeviation) {
+        return Math.sqrt(posteriorVariance(rating, deviation, opponent, opponentDeviation));
+    }
+
+    @Override
+    public String toString() {
+        return "Glicko (RD " + initialDeviation + ", growth " + deviationGrowth + ")";
+    }
+}
@@ -0,0 +1,387 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Players of one gender ordered by ranking (or by any other score, e.g. the
+ * rating of a RatingEngine), kept up to date match by match.
+ * The order is held in an order-statistic treap (a balanced search tree
+ * whose nodes know the size of their subtree), so moving a player after a
+ * match, the top k, the position of a player and a range of positions all
+ * take O(log n) (plus the number of players returned), without sorting.
+ *
+ * Players sharing a ranking keep the order in which they were added.
+ * As a MatchListener the leaderboard repositions both players of every
+ * completed match; call update() after changing a ranking in other ways.
+ * All methods are synchronized, so matches may finish concurrently.
+ */
+public class Leaderboard implements MatchListener {
+
+    private final Player.Gender gender;
+    private final ToDoubleFunction<Player> key;  // Lower keys come first
+    private final Map<Player, Node> nodes;
+    private Node root;
+    private int nextId;
+
+    /**
+     * Constructor for an empty Leaderboard ordered by ranking
+     * @param gender the gender of the players ranked
+     */
+    public Leaderboard(Player.Gender gender) {
+        this(gender, Player::getRanking);
+    }
+
+    /**
+     * Constructor for an empty Leaderboard ordered by a score
+     * @param gender the gender of the players ranked
+     * @param key the score of a player, lower scores first; it must not
+     *            change without update() being called for the player
+     */
+    public Leaderboard(Player.Gender gender, ToDoubleFunction<Player> key) {
+        if (gender == null) {
+            throw new IllegalArgumentException("Gender cannot be null");
+        }
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        this.gender = gender;
+        this.key = key;
+        this.nodes = new IdentityHashMap<>();
+        this.root = null;
+        this.nextId = 0;
+    }
+
+    /**
+     * Constructor for a Leaderboard of some players
+     * @param gender the gender of the players ranked
+     * @param players the players to add, ties keep this order
+     */
+    public Leaderboard(Player.Gender gender, Collection<Player> players) {
+        this(gender);
+        for (Player player : players) {
+            insert(player);
+        }
+    }
+
+    public Player.Gender getGender() {
+        return gender;
+    }
+
+    /**
+     * Adds a player at the position of their ranking
+     * @param player the player to add
+     * @return false if the player is already on the leaderboard
+     */
+    public synchronized boolean add(Player player) {
+        return insert(player);
+    }
+
+    private boolean insert(Player player) {
+        if (player == null) {
+            throw new IllegalArgumentException("Player cannot be null");
+        }
+        if (player.getGender() != gender) {
+            throw new IllegalArgumentException("Player is not " + gender);
+        }
+        if (nodes.containsKey(player)) {
+            return false;
+        }
+
+        Node node = new Node(player, key.applyAsDouble(player), nextId++);
+        nodes.put(player, node);
+        root = insert(root, node);
+        return true;
+    }
+
+    /**
+     * Removes a player
+     * @param player the player to remove
+     * @return false if the player was not on the leaderboard
+     */
+    public synchronized boolean remove(Player player) {
+        Node node = nodes.remove(player);
+        if (node == null) {
+            return false;
+        }
+        root = delete(root, node);
+        return true;
+    }
+
+    /**
+     * Moves a player to the position of their current ranking (or score)
+     * @param player a player on the leaderboard
+     */
+    public synchronized void update(Player player) {
+        Node node = nodes.get(player);
+        if (node == null) {
+            throw new IllegalArgumentException("Player is not on the leaderboard");
+        }
+        double score = key.applyAsDouble(player);
+        if (score != node.score) {
+            root = delete(root, node);
+            node.score = score;
+            node.left = null;
+            node.right = null;
+            node.size = 1;
+            root = insert(root, node);
+        }
+    }
+
+    @Override
+    public synchronized void onMatchComplete(Match match) {
+        reposition(match.getPlayer1());
+        reposition(match.getPlayer2());
+    }
+
+    private void reposition(Player player) {
+        if (nodes.containsKey(player)) {
+            update(player);
+        }
+    }
+
+    public synchronized int size() {
+        return size(root);
+    }
+
+    /**
+     * Gets the position of a player, 1 for the best ranked
+     * @param player a player on the leaderboard
+     * @return the position, from 1 to size()
+     */
+    public synchronized int getPosition(Player player) {
+        Node node = nodes.get(player);
+        if (node == null) {
+            throw new IllegalArgumentException("Player is not on the leaderboard");
+        }
+
+        int before = 0;
+        Node current = root;
+        while (current != node) {
+            if (precedes(node, current)) {
+                current = current.left;
+            } else {
+                before += size(current.left) + 1;
+                current = current.right;
+            }
+        }
+        return before + size(node.left) + 1;
+    }
+
+    /**
+     * Gets the player at a position
+     * @param position from 1 to size()
+     * @return the player
+     */
+    public synchronized Player getPlayerAt(int position) {
+        if (position < 1 || position > size(root)) {
+            throw new IllegalArgumentException("Invalid position: " + position);
+        }
+
+        Node current = root;
+        int index = position - 1;
+        while (true) {
+            int leftSize = size(current.left);
+            if (index < leftSize) {
+                current = current.left;
+            } else if (index == leftSize) {
+                return current.player;
+            } else {
+                index -= leftSize + 1;
+                current = current.right;
+            }
+        }
+    }
+
+    /**
+     * Gets the best ranked players
+     * @param k number of players
+     * @return up to k players, best first
+     */
+    public synchronized List<Player> getTop(int k) {
+        return getRange(1, Math.min(k, size(root)));
+    }
+
+    /**
+     * Gets the players between two positions
+     * @param from first position, from 1
+     * @param to last position, included
+     * @return the players in order, empty if to is before from
+     */
+    public synchronized List<Player> getRange(int from, int to) {
+        if (from < 1) {
+            throw new IllegalArgumentException("Invalid position: " + from);
+        }
+        List<Player> players = new ArrayList<>(Math.max(0, to - from + 1));
+        collect(root, 0, from - 1, Math.min(to, size(root)) - 1, players);
+        return players;
+    }
+
+    /**
+     * Adds the players of a subtree whose index lies between first and last
+     * @param offset number of players before the subtree
+     */
+    private static void collect(Node node, int offset, int first, int last, List<Player> out) {
+        if (node == null || first > last) {
+            return;
+        }
+        int index = offset + size(node.left);
+        if (first < index) {
+            collect(node.left, offset, first, last, out);
+        }
+        if (first <= index && index <= last) {
+            out.add(node.player);
+        }
+        if (last > index) {
+            collect(node.right, index + 1, first, last, out);
+        }
+    }
+
+    // Treap operations, ordered by (score, id) and heap-ordered by priority
+
+    private static boolean precedes(Node a, Node b) {
+        return a.score < b.score || (a.score == b.score && a.id < b.id);
+    }
+
+    private static int size(Node node) {
+        return (node == null) ? 0 : node.size;
+    }
+
+    private static Node insert(Node tree, Node node) {
+        if (tree == null) {
+            return node;
+        }
+        if (node.priority > tree.priority) {
+            // The new node becomes the root of this subtree
+            split(tree, node);
+            node.size = 1 + size(node.left) + size(node.right);
+            return node;
+        }
+        if (precedes(node, tree)) {
+            tree.left = insert(tree.left, node);
+        } else {
+            tree.right = insert(tree.right, node);
+        }
+        tree.size++;
+        return tree;
+    }
+
+    /**
+     * Splits a tree around a key node, into its left (before) and right (after) subtrees
+     */
+    private static void split(Node tree, Node key) {
+        Node left = null;
+        Node right = null;
+        Node leftTail = null;   // Rightmost node on the left spine being built
+        Node rightTail = null;  // Leftmost node on the right spine being built
+        List<Node> touched = new ArrayList<>();
+
+        Node current = tree;
+        while (current != null) {
+            touched.add(current);
+            if (precedes(current, key)) {
+                if (leftTail == null) {
+                    left = current;
+                } else {
+                    leftTail.right = current;
+                }
+                leftTail = current;
+                current = current.right;
+            } else {
+                if (rightTail == null) {
+                    right = current;
+                } else {
+                    rightTail.left = current;
+                }
+                rightTail = current;
+                current = current.left;
+            }
+        }
+        if (leftTail != null) {
+            leftTail.right = null;
+        }
+        if (rightTail != null) {
+            rightTail.left = null;
+        }
+
+        // Sizes change only along the search path, deepest first
+        for (int i = touched.size() - 1; i >= 0; i--) {
+            Node node = touched.get(i);
+            node.size = 1 + size(node.left) + size(node.right);
+        }
+        key.left = left;
+        key.right = right;
+    }
+
+    private static Node delete(Node tree, Node node) {
+        if (tree == node) {
+            return merge(node.left, node.right);
+        }
+        if (precedes(node, tree)) {
+            tree.left = delete(tree.left, node);
+        } else {
+            tree.right = delete(tree.right, node);
+        }
+        tree.size--;
+        return tree;
+    }
+
+    /**
+     * Merges two trees where every node of the first precedes every node of the second
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.size = 1 + size(left.left) + size(left.right);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.size = 1 + size(right.left) + size(right.right);
+        return right;
+    }
+
+    /**
+     * Node of the treap
+     */
+    private static final class Node {
+
+        private final Player player;
+        private final int id;
+        private final int priority;
+        private double score;
+        private int size;
+        private Node left;
+        private Node right;
+
+        private Node(Player player, double score, int id) {
+            this.player = player;
+            this.score = score;
+            this.id = id;
+            this.priority = priority(id);
+            this.size = 1;
+        }
+
+        /**
+         * Pseudo-random heap priority, fixed per id so the shape is reproducible
+         */
+        private static int priority(int id) {
+            long z = (id + 1) * 0x9E3779B97F4A7C15L;
+            z = (z ^ (z >>> 31)) * 0xBF58476D1CE4E5B9L;
+            return (int) (z ^ (z >>> 29));
+        }
+    }
+}
@@ -179,10 +179,7 @@ public class Main {
     private void playAllRounds() {
         System.out.println("\nPlaying all rounds...\n");
         
-        String[] rounds = {"First Round", "Second Round", "Third Round", "Round of 16",
-                          "Quarterfinals", "Semifinals", "Finals"};
-        
-        for (String round : rounds) {
+        for (String round : tournament.getRoundNames()) {
             if (tournament.getCurrentRound().equals(round)) {
                 System.out.println("\nPress Enter to play " + round + "...");
                 scanner.nextLine();
@@ -256,10 +253,7 @@ public class Main {
         System.out.println("Total Referees: " + tournament.getReferees().size());
         
         System.out.println("\n--- Matches by Round ---");
-        String[] rounds = {"First Round", "Second Round", "Third Round", "Round of 16",
-                          "Quarterfinals", "Semifinals", "Finals"};
-        
-        for (String round : rounds) {
+        for (String round : tournament.getRoundNames()) {
             var matches = tournament.getMatchesForRound(round);
             System.out.println(round + ": " + matches.size() + " matches");
         }
@@ -298,10 +292,9 @@ public class Main {
      * Views men's player statistics
      */
     private void viewMensPlayerStats() {
-        var players = tournament.getMensPlayers();
+        var players = tournament.getLeaderboard(Player.Gender.MALE).getTop(10);
         
         System.out.println("\n=== TOP 10 MEN'S PLAYERS (by ranking) ===");
-        players.sort((p1, p2) -> Integer.compare(p1.getRanking(), p2.getRanking()));
         
         for (int i = 0; i < Math.min(10, players.size()); i++) {
             Player p = players.get(i);
@@ -326,10 +319,9 @@ public class Main {
      * Views women's player statistics
      */
     private void viewWomensPlayerStats() {
-        var players = tournament.getWomensPlayers();
+        var players = tournament.getLeaderboard(Player.Gender.FEMALE).getTop(10);
         
         System.out.println("\n=== TOP 10 WOMEN'S PLAYERS (by ranking) ===");
-        players.sort((p1, p2) -> Integer.compare(p1.getRanking(), p2.getRanking()));
         
         for (int i = 0; i < Math.min(10, players.size()); i++) {
             Player p = players.get(i);
@@ -357,19 +349,13 @@ public class Main {
         System.out.print("\nEnter player name (first or last): ");
         String searchTerm = scanner.nextLine().trim().toLowerCase();
         
-        var allPlayers = tournament.getMensPlayers();
-        allPlayers.addAll(tournament.getWomensPlayers());
-        
         System.out.println("\n=== SEARCH RESULTS ===");
         boolean found = false;
         
-        for (Player p : allPlayers) {
-            if (p.getFirstName().toLowerCase().contains(searchTerm) ||
-                p.getDisplayName().toLowerCase().contains(searchTerm)) {
-                System.out.println(p);
-                System.out.println(p.getStatsSummary());
-                found = true;
-            }
+        for (Player p : tournament.getPlayerIndex().search(searchTerm)) {
+            System.out.println(p);
+            System.out.println(p.getStatsSummary());
+            found = true;
         }
         
         if (!found) {
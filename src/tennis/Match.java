@@ -4,8 +4,10 @@
  */
 package tennis;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 
 
@@ -14,7 +16,7 @@ import java.util.Random;
  * Men's matches are best of 5 sets, women's are best of 3 sets.
  * Implements Playable interface for polymorphic behavior.
  */
-public class Match implements Playable {
+public class Match implements Playable, ScoreSnapshot {
     
     /**
      * Enumerator for match category
@@ -31,10 +33,23 @@ public class Match implements Playable {
     private int atpWtaPoints;  
     private Player winner;
     private Player loser;
-    private boolean isComplete;
+    private volatile boolean isComplete;
     private List<Set> sets;
+    private List<Set> setsView;          // Read-only view handed out by getSets()
+    
+    // Score state, kept up to date as sets finish (see ScoreSnapshot)
+    private volatile int player1Sets;
+    private volatile int player2Sets;
+    private int[] player1SetGames;       // Games of each finished set
+    private int[] player2SetGames;
+    private int pointsPlayed;            // Points of the finished sets
+    private volatile Set currentSet;     // Set being played, null between sets
     private Player currentServer;
-    private Random random;
+    private RandomGenerator random;
+    private MatchListener listener;
+    private PointLog pointLog;
+    private PointLog.Cursor replay;   // Recorded points replayed instead of playing rallies
+    private long kernelResult;        // Packed MatchKernel result, 0 unless played by the kernel
     
     /**
      * Constructor for Match
@@ -48,6 +63,21 @@ public class Match implements Playable {
     
     public Match(Player player1, Player player2, Referee referee, 
             Category category, String level, int atpWtaPoints ){
+        this(player1, player2, referee, category, level, atpWtaPoints, new SplittableRandom());
+    }
+    
+    /**
+     * Constructor for a reproducible Match
+     * @param player1 the first player
+     * @param player2 the second player
+     * @param referee the referee officiating the match
+     * @param category the match category (MENS_SINGLES or WOMENS_SINGLES)
+     * @param level the tournament round may be "First Round", "Quarterfinals", etc.
+     * @param atpWtaPoints the ranking points awarded for this round
+     * @param random the match's own random number stream, used for every set, game and rally
+     */
+    public Match(Player player1, Player player2, Referee referee, 
+            Category category, String level, int atpWtaPoints, RandomGenerator random) {
         if (player1 == null || player2 == null) {
             throw new IllegalArgumentException("Players cannot be null");
         }
@@ -63,6 +93,9 @@ public class Match implements Playable {
         if (atpWtaPoints < 0){
             throw new IllegalArgumentException ("ATP/WTA points cannot be negative");
         }
+        if (random == null) {
+            throw new IllegalArgumentException ("Random generator cannot be null");
+        }
         
         // Validate gender matches category
         if (category == Category.MENS_SINGLES && 
@@ -84,7 +117,18 @@ public class Match implements Playable {
         this.loser = null;
         this.isComplete = false;
         this.sets = new ArrayList<> ();
-        this.random = new Random();
+        this.setsView = Collections.unmodifiableList(sets);
+        this.player1Sets = 0;
+        this.player2Sets = 0;
+        this.player1SetGames = new int[2 * getSetsToWin() - 1];
+        this.player2SetGames = new int[2 * getSetsToWin() - 1];
+        this.pointsPlayed = 0;
+        this.currentSet = null;
+        this.random = random;
+        this.listener = null;
+        this.pointLog = null;
+        this.replay = null;
+        this.kernelResult = 0;
         
         // Randomly choose initial server
         this.currentServer = random.nextBoolean() ? player1 : player2;
@@ -95,33 +139,43 @@ public class Match implements Playable {
      */
     @Override
     public void play() {
-        referee.announceMatchStart(player1.getFullName(), player2.getFullName());
+        long start = MetricsRegistry.ENABLED ? System.nanoTime() : 0;
+        SimulationEvents.MatchEvent event = new SimulationEvents.MatchEvent();
+        event.begin();
+        Announcer announcer = referee.getAnnouncer();
+        if (announcer.isEnabled()) {
+            referee.announceMatchStart(player1.getFullName(), player2.getFullName());
+        }
         
         int setsToWin = getSetsToWin();
-        int player1Sets = 0;
-        int player2Sets = 0;
         
         while (!isComplete) {
             // Determine if this is the deciding set
             boolean isDecidingSet = (player1Sets == setsToWin - 1 && player2Sets == setsToWin - 1);
             
             // Create and play a set
-            Set set = new Set(player1, player2, currentServer, referee, isDecidingSet);
-            System.out.println("\n=== SET " + (sets.size() + 1) + " ===\n");
-            set.play();
+            Set set = new Set(player1, player2, currentServer, referee, isDecidingSet, random);
+            if (announcer.isEnabled()) {
+                announcer.println("\n=== SET " + (sets.size() + 1) + " ===\n");
+            }
+            set.setListener(listener);
+            set.setReplay(replay);
+            set.setMatch(this);
+            currentSet = set;
+            playSet(set);
             sets.add(set);
             
             // Update set scores
-            Player setWinner = set.getWinner();
-            if (setWinner == player1) {
-                player1Sets++;
-            } else {
-                player2Sets++;
+            recordSetScore(set);
+            if (listener != null) {
+                listener.onSetComplete(this, set);
             }
             
-            System.out.println("\nCurrent Match Score: " + player1.getDisplayName() + " " + 
-                             player1Sets + " - " + player2Sets + " " + player2.getDisplayName());
-            displaySetScores();
+            if (announcer.isEnabled()) {
+                announcer.println("\nCurrent Match Score: " + player1.getDisplayName() + " " + 
+                                 player1Sets + " - " + player2Sets + " " + player2.getDisplayName());
+                displaySetScores();
+            }
             
             // Check for match winner
             if (player1Sets == setsToWin) {
@@ -141,14 +195,225 @@ public class Match implements Playable {
         }
         
         // Update match statistics and rankings
-        winner.recordMatchWin();
-        loser.recordMatchLoss();
-        winner.updateRanking(true, loser.getRanking());
-        loser.updateRanking(false, winner.getRanking());
-        referee.recordMatchOfficiated();
+        finalizeMatch();
+        if (event.shouldCommit()) {
+            event.fill(this, "OBJECT");
+            event.commit();
+        }
+        if (MetricsRegistry.ENABLED) {
+            MetricsRegistry.MATCHES.record(System.nanoTime() - start);
+        }
+    }
+    
+    /**
+     * Plays one set, reported to Flight Recorder as a tennis.Set event
+     */
+    private void playSet(Set set) {
+        SimulationEvents.SetEvent event = new SimulationEvents.SetEvent();
+        event.begin();
+        set.play();
+        if (event.shouldCommit()) {
+            event.fill(this, set, player1Sets + player2Sets + 1);
+            event.commit();
+        }
+    }
+    
+    /**
+     * Adds a finished set to the score state
+     */
+    private void recordSetScore(Set set) {
+        int index = player1Sets + player2Sets;
+        player1SetGames[index] = set.getPlayer1Games();
+        player2SetGames[index] = set.getPlayer2Games();
+        pointsPlayed += set.getPointsPlayed();
+        
+        // The volatile increment publishes the games written above
+        if (set.getWinner() == player1) {
+            player1Sets++;
+        } else {
+            player2Sets++;
+        }
+        currentSet = null;
+    }
+    
+    /**
+     * Adds a listener that follows every point of this match.
+     * Listeners run on the thread playing the match.
+     * @param listener the listener to add
+     */
+    public void addListener(MatchListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        this.listener = MatchListener.combine(this.listener, listener);
+    }
+    
+    /**
+     * Starts recording every point of this match in a compact PointLog.
+     * Must be called before the first set is played.
+     * @return the log being recorded
+     */
+    public PointLog enablePointLog() {
+        if (isComplete || !sets.isEmpty()) {
+            throw new IllegalStateException("Point log must be enabled before the match starts");
+        }
+        if (pointLog == null) {
+            pointLog = new PointLog(currentServer == player1);
+            addListener(pointLog);
+        }
+        return pointLog;
+    }
+    
+    /**
+     * Gets the point-by-point log of this match
+     * @return the log, or null if not enabled
+     */
+    public PointLog getPointLog() {
+        return pointLog;
+    }
+    
+    /**
+     * Plays the entire match with the allocation-free MatchKernel instead of
+     * Set, Game and Rally objects. The match ends exactly as play() would end
+     * from the same random stream; no Set objects are kept and only the match
+     * totals are recorded for the players (no double faults, no point-by-point
+     * listeners).
+     */
+    public void playWithKernel() {
+        if (isComplete || !sets.isEmpty()) {
+            throw new IllegalStateException("Match has already started");
+        }
+        if (listener != null) {
+            throw new IllegalStateException("The match kernel does not report points to listeners");
+        }
+        
+        long start = MetricsRegistry.ENABLED ? System.nanoTime() : 0;
+        SimulationEvents.MatchEvent event = new SimulationEvents.MatchEvent();
+        event.begin();
+        if (referee.isAnnouncing()) {
+            referee.announceMatchStart(player1.getFullName(), player2.getFullName());
+        }
+        
+        kernelResult = MatchKernel.simulate(random, getSetsToWin(), currentServer == player1);
+        
+        int games1 = 0;
+        int games2 = 0;
+        for (int set = 0; set < MatchKernel.getSetCount(kernelResult); set++) {
+            player1SetGames[set] = MatchKernel.getPlayer1Games(kernelResult, set);
+            player2SetGames[set] = MatchKernel.getPlayer2Games(kernelResult, set);
+            games1 += player1SetGames[set];
+            games2 += player2SetGames[set];
+        }
+        int sets1 = MatchKernel.getPlayer1Sets(kernelResult);
+        int sets2 = MatchKernel.getPlayer2Sets(kernelResult);
+        player1Sets = sets1;
+        player2Sets = sets2;
+        int points1 = MatchKernel.getPlayer1Points(kernelResult);
+        int points2 = MatchKernel.getPlayer2Points(kernelResult);
+        pointsPlayed = points1 + points2;
+        player1.recordMatchTotals(sets1, sets2, games1, games2, points1, points2,
+                                  MatchKernel.getPlayer1Aces(kernelResult));
+        player2.recordMatchTotals(sets2, sets1, games2, games1, points2, points1,
+                                  MatchKernel.getPlayer2Aces(kernelResult));
+        
+        if (MatchKernel.isPlayer1Winner(kernelResult)) {
+            winner = player1;
+            loser = player2;
+        } else {
+            winner = player2;
+            loser = player1;
+        }
+        isComplete = true;
+        finalizeMatch();
+        if (event.shouldCommit()) {
+            event.fill(this, "KERNEL");
+            event.commit();
+        }
+        if (MetricsRegistry.ENABLED) {
+            MetricsRegistry.MATCHES.record(System.nanoTime() - start);
+        }
+    }
+    
+    /**
+     * Gets the packed MatchKernel result
+     * @return the result, or 0 if the match was not played by the kernel
+     */
+    public long getKernelResult() {
+        return kernelResult;
+    }
+    
+    /**
+     * Drops the sets and games of a completed match, and its listeners, once
+     * they are no longer needed (e.g. exported by a ResultExporter). The
+     * score by set, the winner and the point log are kept; getSets() is
+     * then empty.
+     */
+    public void releaseDetail() {
+        if (!isComplete) {
+            throw new IllegalStateException("Only a completed match can release its detail");
+        }
+        this.sets = List.of();
+        this.setsView = sets;
+        this.listener = null;
+        this.replay = null;
+    }
+    
+    /**
+     * Makes the match replay the points of a log instead of playing rallies.
+     * The server of the first point is taken from the log; play() then
+     * rebuilds every set and game and records the same player statistics
+     * as the recorded match.
+     * @param log the recorded points
+     * @return the cursor reading the log as the match is replayed
+     */
+    PointLog.Cursor replayFrom(PointLog log) {
+        if (log == null) {
+            throw new IllegalArgumentException("Point log cannot be null");
+        }
+        if (!sets.isEmpty()) {
+            throw new IllegalStateException("Replay must start before the match starts");
+        }
+        this.currentServer = log.isPlayer1ServingFirst() ? player1 : player2;
+        this.replay = log.cursor();
+        return replay;
+    }
+    
+    /**
+     * Sets the final score of a match completed before a TournamentSnapshot
+     * was taken. No statistics are recorded, the snapshot restores them with
+     * the players and the referee.
+     * @param player1Games games won by player 1 in each set
+     * @param player2Games games won by player 2 in each set
+     */
+    void restoreResult(int[] player1Games, int[] player2Games) {
+        if (isComplete || !sets.isEmpty()) {
+            throw new IllegalStateException("Match has already started");
+        }
+        if (player1Games.length != player2Games.length || player1Games.length > player1SetGames.length) {
+            throw new IllegalArgumentException("Invalid number of sets: " + player1Games.length);
+        }
+        
+        int sets1 = 0;
+        int sets2 = 0;
+        for (int set = 0; set < player1Games.length; set++) {
+            player1SetGames[set] = player1Games[set];
+            player2SetGames[set] = player2Games[set];
+            if (player1Games[set] > player2Games[set]) {
+                sets1++;
+            } else {
+                sets2++;
+            }
+        }
+        int setsToWin = getSetsToWin();
+        if ((sets1 == setsToWin) == (sets2 == setsToWin)) {
+            throw new IllegalArgumentException("Score is not a finished match");
+        }
         
-        referee.announceMatchWinner(winner.getFullName());
-        System.out.println("\nFinal Score: " + getMatchScoreString());
+        player1Sets = sets1;
+        player2Sets = sets2;
+        winner = (sets1 == setsToWin) ? player1 : player2;
+        loser = (winner == player1) ? player2 : player1;
+        isComplete = true;
     }
     
     /**
@@ -156,31 +421,37 @@ public class Match implements Playable {
      */
     public void playNextSet() {
         if (isComplete) {
-            System.out.println("Match is already complete!");
+            referee.getAnnouncer().println("Match is already complete!");
             return;
         }
         
+        Announcer announcer = referee.getAnnouncer();
+        
         int setsToWin = getSetsToWin();
-        int player1Sets = getPlayer1Sets();
-        int player2Sets = getPlayer2Sets();
         
         boolean isDecidingSet = (player1Sets == setsToWin - 1 && player2Sets == setsToWin - 1);
         
-        Set set = new Set(player1, player2, currentServer, referee, isDecidingSet);
-        System.out.println("\n=== SET " + (sets.size() + 1) + " ===\n");
-        set.play();
+        Set set = new Set(player1, player2, currentServer, referee, isDecidingSet, random);
+        if (announcer.isEnabled()) {
+            announcer.println("\n=== SET " + (sets.size() + 1) + " ===\n");
+        }
+        set.setListener(listener);
+        set.setReplay(replay);
+        set.setMatch(this);
+        currentSet = set;
+        playSet(set);
         sets.add(set);
         
-        Player setWinner = set.getWinner();
-        if (setWinner == player1) {
-            player1Sets++;
-        } else {
-            player2Sets++;
+        recordSetScore(set);
+        if (listener != null) {
+            listener.onSetComplete(this, set);
         }
         
-        System.out.println("\nCurrent Match Score: " + player1.getDisplayName() + " " + 
-                         player1Sets + " - " + player2Sets + " " + player2.getDisplayName());
-        displaySetScores();
+        if (announcer.isEnabled()) {
+            announcer.println("\nCurrent Match Score: " + player1.getDisplayName() + " " + 
+                             player1Sets + " - " + player2Sets + " " + player2.getDisplayName());
+            displaySetScores();
+        }
         
         // Check for match winner
         if (player1Sets == setsToWin) {
@@ -204,12 +475,25 @@ public class Match implements Playable {
     private void finalizeMatch() {
         winner.recordMatchWin();
         loser.recordMatchLoss();
-        winner.updateRanking(true, loser.getRanking());
-        loser.updateRanking(false, winner.getRanking());
+        RatingEngine ratings = winner.getRatingEngine();
+        if (ratings != null && ratings == loser.getRatingEngine()) {
+            ratings.recordMatch(winner, loser);
+        } else {
+            winner.updateRanking(true, loser.getRanking());
+            loser.updateRanking(false, winner.getRanking());
+        }
         referee.recordMatchOfficiated();
+        if (pointLog != null) {
+            pointLog.trimToSize();
+        }
+        if (listener != null) {
+            listener.onMatchComplete(this);
+        }
         
-        referee.announceMatchWinner(winner.getFullName());
-        System.out.println("\nFinal Score: " + getMatchScoreString());
+        if (referee.isAnnouncing()) {
+            referee.announceMatchWinner(winner.getFullName());
+            referee.getAnnouncer().println("\nFinal Score: " + getMatchScoreString());
+        }
     }
     
     /**
@@ -223,43 +507,126 @@ public class Match implements Playable {
      * Gets number of sets won by player 1
      * @return 
      */
+    @Override
     public int getPlayer1Sets() {
-        int count = 0;
-        for (Set set : sets) {
-            if (set.getWinner() == player1) {
-                count++;
-            }
-        }
-        return count;
+        return player1Sets;
     }
     
     /**
      * Gets number of sets won by player 2
      * @return 
      */
+    @Override
     public int getPlayer2Sets() {
-        int count = 0;
-        for (Set set : sets) {
-            if (set.getWinner() == player2) {
-                count++;
-            }
+        return player2Sets;
+    }
+    
+    /**
+     * Gets the number of points played in the finished sets
+     * @return the points, 0 for a result restored from a TournamentSnapshot
+     */
+    public int getPointsPlayed() {
+        return pointsPlayed;
+    }
+    
+    @Override
+    public int getSetCount() {
+        Set current = currentSet;
+        int started = (current != null && !current.isComplete()) ? 1 : 0;
+        return player1Sets + player2Sets + started;
+    }
+    
+    @Override
+    public int getPlayer1Games(int set) {
+        int finished = player1Sets + player2Sets;
+        if (set >= 0 && set < finished) {
+            return player1SetGames[set];
+        }
+        Set current = currentSet;
+        if (set == finished && current != null) {
+            return current.getPlayer1Games();
+        }
+        throw new IllegalArgumentException("Invalid set index: " + set);
+    }
+    
+    @Override
+    public int getPlayer2Games(int set) {
+        int finished = player1Sets + player2Sets;
+        if (set >= 0 && set < finished) {
+            return player2SetGames[set];
+        }
+        Set current = currentSet;
+        if (set == finished && current != null) {
+            return current.getPlayer2Games();
+        }
+        throw new IllegalArgumentException("Invalid set index: " + set);
+    }
+    
+    @Override
+    public int getPlayer1Points() {
+        Game game = currentGame();
+        return (game == null) ? 0 : game.getPlayer1Points();
+    }
+    
+    @Override
+    public int getPlayer2Points() {
+        Game game = currentGame();
+        return (game == null) ? 0 : game.getPlayer2Points();
+    }
+    
+    @Override
+    public boolean isTiebreak() {
+        Game game = currentGame();
+        return game != null && game.isTiebreak();
+    }
+    
+    @Override
+    public Player getServer() {
+        if (isComplete) {
+            return null;
+        }
+        Set current = currentSet;
+        if (current == null) {
+            return currentServer;
+        }
+        Game game = currentGame();
+        return (game == null) ? current.getCurrentServer() : game.getPointServer();
+    }
+    
+    /**
+     * Gets the game being played
+     * @return the game, or null between games
+     */
+    private Game currentGame() {
+        Set current = currentSet;
+        if (current == null) {
+            return null;
         }
-        return count;
+        Game game = current.getCurrentGame();
+        return (game == null || game.isComplete()) ? null : game;
+    }
+    
+    /**
+     * Gets a read-only, allocation-free view of the live score
+     * @return this match as a ScoreSnapshot
+     */
+    public ScoreSnapshot getScore() {
+        return this;
     }
     
     /**
      * Displays set scores
      */
     private void displaySetScores() {
-        System.out.print("Set Scores: ");
-        for (int i = 0; i < sets.size(); i++) {
-            Set set = sets.get(i);
-            System.out.print(set.getPlayer1Games() + "-" + set.getPlayer2Games());
-            if (i < sets.size() - 1) {
-                System.out.print(", ");
+        StringBuilder sb = new StringBuilder("Set Scores: ");
+        int setCount = getSetCount();
+        for (int i = 0; i < setCount; i++) {
+            sb.append(getPlayer1Games(i)).append("-").append(getPlayer2Games(i));
+            if (i < setCount - 1) {
+                sb.append(", ");
             }
         }
-        System.out.println();
+        referee.getAnnouncer().println(sb.toString());
     }
     
     /**
@@ -271,10 +638,10 @@ public class Match implements Playable {
         sb.append(player1.getDisplayName()).append(" vs ").append(player2.getDisplayName()).append("\n");
         sb.append("Sets: ").append(getPlayer1Sets()).append("-").append(getPlayer2Sets()).append("\n");
         
-        for (int i = 0; i < sets.size(); i++) {
-            Set set = sets.get(i);
+        int setCount = getSetCount();
+        for (int i = 0; i < setCount; i++) {
             sb.append("Set ").append(i + 1).append(": ")
-              .append(set.getPlayer1Games()).append("-").append(set.getPlayer2Games())
+              .append(getPlayer1Games(i)).append("-").append(getPlayer2Games(i))
               .append("\n");
         }
         
@@ -332,8 +699,12 @@ public class Match implements Playable {
         return isComplete;
     }
     
+    /**
+     * Gets the sets played so far (none when played by MatchKernel)
+     * @return a read-only view of the sets, no copy is made
+     */
     public List<Set> getSets() {
-        return new ArrayList<>(sets);  // Return copy for encapsulation
+        return setsView;
     }
     
     public Player getCurrentServer() {
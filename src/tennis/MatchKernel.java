@@ -0,0 +1,261 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Allocation-free match simulator for bulk simulation.
+ * Plays a whole match on local primitives, with the same point model as
+ * Rally and the same rules as Game, Set and Match, and returns the outcome
+ * packed into a single long:
+ * <pre>
+ *   bit  0      winner (0 = player 1, 1 = player 2)
+ *   bits 1-3    number of sets played
+ *   bits 4-33   games of up to 5 sets, 3 bits per player per set
+ *               (set i: player 1 at 4 + 6i, player 2 at 7 + 6i)
+ *   bits 34-42  points won by player 1 (saturates at 511)
+ *   bits 43-51  points won by player 2 (saturates at 511)
+ *   bits 52-57  aces of player 1 (saturates at 63)
+ *   bits 58-63  aces of player 2 (saturates at 63)
+ * </pre>
+ * The random numbers are drawn in exactly the same order as by the object
+ * path, so a match simulated here from a given stream ends exactly as
+ * Match.play() would end from the same stream.
+ */
+public final class MatchKernel {
+
+    private static final int MAX_SETS = 5;
+    private static final int MAX_POINTS = 511;
+    private static final int MAX_ACES = 63;
+
+    // Outcome of one point
+    private static final int SERVER_WON = 1;
+    private static final int ACE = 2;
+
+    private MatchKernel() {
+        // Static kernel only
+    }
+
+    /**
+     * Simulates a match
+     * @param random the match's random stream
+     * @param setsToWin 2 for best of 3, 3 for best of 5
+     * @param player1ServesFirst true if player 1 serves the first game
+     * @return the packed result
+     */
+    public static long simulate(RandomGenerator random, int setsToWin, boolean player1ServesFirst) {
+        if (random == null) {
+            throw new IllegalArgumentException("Random generator cannot be null");
+        }
+        if (setsToWin < 1 || setsToWin > (MAX_SETS + 1) / 2) {
+            throw new IllegalArgumentException("Sets to win must be between 1 and 3");
+        }
+
+        int sets1 = 0;
+        int sets2 = 0;
+        int setCount = 0;
+        long setScores = 0;
+        int points1 = 0;
+        int points2 = 0;
+        int aces1 = 0;
+        int aces2 = 0;
+        boolean setServer1 = player1ServesFirst;
+
+        while (sets1 < setsToWin && sets2 < setsToWin) {
+            boolean isDecidingSet = (sets1 == setsToWin - 1 && sets2 == setsToWin - 1);
+            int games1 = 0;
+            int games2 = 0;
+            boolean gameServer1 = setServer1;
+
+            while (true) {
+                boolean isTiebreak = (games1 == 6 && games2 == 6 && !isDecidingSet);
+                boolean server1 = gameServer1;
+                int gamePoints1 = 0;
+                int gamePoints2 = 0;
+
+                while (true) {
+                    int point = playPoint(random);
+                    boolean player1Won = ((point & SERVER_WON) != 0) == server1;
+                    if (player1Won) {
+                        gamePoints1++;
+                        points1++;
+                    } else {
+                        gamePoints2++;
+                        points2++;
+                    }
+                    if ((point & ACE) != 0) {
+                        if (server1) {
+                            aces1++;
+                        } else {
+                            aces2++;
+                        }
+                    }
+
+                    if (isTiebreak) {
+                        // Switch after the first point, then every two points
+                        if (((gamePoints1 + gamePoints2) & 1) == 1) {
+                            server1 = !server1;
+                        }
+                        if ((gamePoints1 >= 7 || gamePoints2 >= 7) && Math.abs(gamePoints1 - gamePoints2) >= 2) {
+                            break;
+                        }
+                    } else if ((gamePoints1 >= 4 || gamePoints2 >= 4) && Math.abs(gamePoints1 - gamePoints2) >= 2) {
+                        break;
+                    }
+                }
+
+                if (gamePoints1 > gamePoints2) {
+                    games1++;
+                } else {
+                    games2++;
+                }
+                if ((games1 >= 6 || games2 >= 6)
+                        && (Math.abs(games1 - games2) >= 2 || games1 == 7 || games2 == 7)) {
+                    break;
+                }
+                gameServer1 = !gameServer1;
+            }
+
+            setScores |= (long) (games1 | (games2 << 3)) << (6 * setCount);
+            setCount++;
+            if (games1 > games2) {
+                sets1++;
+            } else {
+                sets2++;
+            }
+            setServer1 = !setServer1;
+        }
+
+        return (sets1 == setsToWin ? 0L : 1L)
+               | ((long) setCount << 1)
+               | (setScores << 4)
+               | ((long) Math.min(points1, MAX_POINTS) << 34)
+               | ((long) Math.min(points2, MAX_POINTS) << 43)
+               | ((long) Math.min(aces1, MAX_ACES) << 52)
+               | ((long) Math.min(aces2, MAX_ACES) << 58);
+    }
+
+    /**
+     * Plays one point with the model of Rally.play(), drawing the same random numbers
+     * @return SERVER_WON and ACE bits
+     */
+    private static int playPoint(RandomGenerator random) {
+        boolean isFirstServe = true;
+        if (!serveIn(random, 0.65)) {
+            isFirstServe = false;
+            if (!serveIn(random, 0.90)) {
+                return 0;  // Double fault
+            }
+        }
+
+        double aceChance = isFirstServe ? 0.08 : 0.03;
+        if (random.nextDouble() < aceChance) {
+            return SERVER_WON | ACE;
+        }
+
+        int shotCount = 1;
+        int maxShots = 3 + random.nextInt(15);
+        for (int i = 1; i < maxShots; i++) {
+            shotCount++;
+            boolean serverHits = (i % 2 == 0);
+
+            double errorChance = 0.15 + (shotCount * 0.01);
+            if (random.nextDouble() < errorChance) {
+                return serverHits ? 0 : SERVER_WON;
+            }
+
+            double winnerChance = 0.10 + (shotCount * 0.005);
+            if (random.nextDouble() < winnerChance) {
+                return serverHits ? SERVER_WON : 0;
+            }
+        }
+
+        return random.nextBoolean() ? SERVER_WON : 0;
+    }
+
+    /**
+     * Same draws as Rally.attemptServe: serve quality, then foot fault
+     */
+    private static boolean serveIn(RandomGenerator random, double successRate) {
+        double serveQuality = random.nextDouble();
+        if (random.nextDouble() < 0.02) {
+            return false;
+        }
+        return serveQuality < successRate;
+    }
+
+    // Decoding of packed results
+
+    public static boolean isPlayer1Winner(long result) {
+        return (result & 1L) == 0;
+    }
+
+    public static int getSetCount(long result) {
+        return (int) ((result >>> 1) & 0x7);
+    }
+
+    public static int getPlayer1Games(long result, int set) {
+        checkSet(result, set);
+        return (int) ((result >>> (4 + 6 * set)) & 0x7);
+    }
+
+    public static int getPlayer2Games(long result, int set) {
+        checkSet(result, set);
+        return (int) ((result >>> (7 + 6 * set)) & 0x7);
+    }
+
+    private static void checkSet(long result, int set) {
+        if (set < 0 || set >= getSetCount(result)) {
+            throw new IllegalArgumentException("Invalid set index: " + set);
+        }
+    }
+
+    public static int getPlayer1Sets(long result) {
+        int sets = 0;
+        for (int set = 0; set < getSetCount(result); set++) {
+            if (getPlayer1Games(result, set) > getPlayer2Games(result, set)) {
+                sets++;
+            }
+        }
+        return sets;
+    }
+
+    public static int getPlayer2Sets(long result) {
+        return getSetCount(result) - getPlayer1Sets(result);
+    }
+
+    public static int getPlayer1Points(long result) {
+        return (int) ((result >>> 34) & MAX_POINTS);
+    }
+
+    public static int getPlayer2Points(long result) {
+        return (int) ((result >>> 43) & MAX_POINTS);
+    }
+
+    public static int getPlayer1Aces(long result) {
+        return (int) ((result >>> 52) & MAX_ACES);
+    }
+
+    public static int getPlayer2Aces(long result) {
+        return (int) ((result >>> 58) & MAX_ACES);
+    }
+
+    /**
+     * Gets the set scores of a packed result, e.g. "6-4 3-6 7-6"
+     * @param result the packed result
+     * @return the score string
+     */
+    public static String toScoreString(long result) {
+        StringBuilder sb = new StringBuilder();
+        for (int set = 0; set < getSetCount(result); set++) {
+            if (set > 0) {
+                sb.append(" ");
+            }
+            sb.append(getPlayer1Games(result, set)).append("-").append(getPlayer2Games(result, set));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package tennis;
+
+/**
+ * Callback for following a match as it is played.
+ * Listeners are added to a Match and run on the thread playing the match,
+ * right after each rally, game, set and the match itself have been scored.
+ */
+public interface MatchListener {
+    
+    /**
+     * Called after every rally (point) of the match
+     * @param rally the rally just played
+     * @param serverWon true if the server won the point
+     */
+    default void onPoint(Rally rally, boolean serverWon) {
+    }
+    
+    /**
+     * Called after every game, once the set has counted it
+     * @param set the set being played
+     * @param game the game just won
+     */
+    default void onGameComplete(Set set, Game game) {
+    }
+    
+    /**
+     * Called after every set, once the match has counted it
+     * @param match the match being played
+     * @param set the set just won
+     */
+    default void onSetComplete(Match match, Set set) {
+    }
+    
+    /**
+     * Called once the match is over and its statistics have been recorded
+     * @param match the completed match
+     */
+    default void onMatchComplete(Match match) {
+    }
+    
+    /**
+     * Combines two listeners into one that calls both in order
+     * @param first the listener called first, may be null
+     * @param second the listener called second, may be null
+     * @return the combined listener
+     */
+    static MatchListener combine(MatchListener first, MatchListener second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        
+        return new MatchListener() {
+            @Override
+            public void onPoint(Rally rally, boolean serverWon) {
+                first.onPoint(rally, serverWon);
+                second.onPoint(rally, serverWon);
+            }
+            
+            @Override
+            public void onGameComplete(Set set, Game game) {
+                first.onGameComplete(set, game);
+                second.onGameComplete(set, game);
+            }
+            
+            @Override
+            public void onSetComplete(Match match, Set set) {
+                first.onSetComplete(match, set);
+                second.onSetComplete(match, set);
+            }
+            
+            @Override
+            public void onMatchComplete(Match match) {
+                first.onMatchComplete(match);
+                second.onMatchComplete(match);
+            }
+        };
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+/**
+ * Exact win probabilities for games, tiebreaks, sets and matches.
+ * Points are treated as independent: player A wins a point on their own serve
+ * with probability pa, player B wins a point on their own serve with probability pb.
+ * The probabilities are computed by dynamic programming over the score states
+ * and follow the rules exactly as Game, Set and Match play them:
+ * <ul>
+ * <li>the server alternates every game, and every two points in a tiebreak
+ *     after the first point</li>
+ * <li>a set goes to a tiebreak at 6-6, except the deciding set where one more
+ *     regular game is played and 7-6 ends the set</li>
+ * <li>the first server alternates from set to set</li>
+ * </ul>
+ */
+public final class MatchProbability {
+
+    private MatchProbability() {
+        // Static calculator only
+    }
+
+    /**
+     * Probability that the server wins a regular game
+     * @param p probability that the server wins a point on serve
+     * @return probability of holding serve
+     */
+    public static double gameWin(double p) {
+        checkProbability(p);
+        double q = 1.0 - p;
+
+        // Win to 0, 15 or 30, or reach deuce and win from there
+        double beforeDeuce = p * p * p * p * (1 + 4 * q + 10 * q * q);
+        double reachDeuce = 20 * p * p * p * q * q * q;
+        double winFromDeuce = (p * p + q * q == 0) ? 0.0 : p * p / (p * p + q * q);
+        return beforeDeuce + reachDeuce * winFromDeuce;
+    }
+
+    /**
+     * Probability that player A wins a tiebreak
+     * @param pa probability that A wins a point on their serve
+     * @param pb probability that B wins a point on their serve
+     * @param aServesFirst true if A serves the first point
+     * @return probability that A wins the tiebreak
+     */
+    public static double tiebreakWin(double pa, double pb, boolean aServesFirst) {
+        checkProbability(pa);
+        checkProbability(pb);
+
+        // win[i][j] = probability that A wins from i points (A) to j points (B), up to 6-6
+        double[][] win = new double[8][8];
+        for (int total = 12; total >= 0; total--) {
+            for (int i = Math.min(total, 7); i >= 0; i--) {
+                int j = total - i;
+                if (j > 7) {
+                    continue;
+                }
+                if (isTiebreakOver(i, j)) {
+                    win[i][j] = (i > j) ? 1.0 : 0.0;
+                } else if (i == 6 && j == 6) {
+                    win[i][j] = winFromTiebreakDeuce(pa, pb);
+                } else {
+                    double pointWin = tiebreakPointWin(pa, pb, aServesFirst, total);
+                    win[i][j] = pointWin * win[i + 1][j] + (1.0 - pointWin) * win[i][j + 1];
+                }
+            }
+        }
+        return win[0][0];
+    }
+
+    /**
+     * Probability that player A wins a set
+     * @param pa probability that A wins a point on their serve
+     * @param pb probability that B wins a point on their serve
+     * @param aServesFirst true if A serves the first game of the set
+     * @param isDecidingSet true for the final set of the match (no tiebreak)
+     * @return probability that A wins the set
+     */
+    public static double setWin(double pa, double pb, boolean aServesFirst, boolean isDecidingSet) {
+        checkProbability(pa);
+        checkProbability(pb);
+
+        double holdA = gameWin(pa);
+        double breakB = 1.0 - gameWin(pb);
+        // The server of the tiebreak is the server of game 13, i.e. the first server
+        double tiebreak = tiebreakWin(pa, pb, aServesFirst);
+
+        // win[i][j] = probability that A wins from i games (A) to j games (B)
+        double[][] win = new double[8][8];
+        for (int total = 13; total >= 0; total--) {
+            for (int i = Math.min(total, 7); i >= 0; i--) {
+                int j = total - i;
+                if (j > 7) {
+                    continue;
+                }
+                if (isSetOver(i, j)) {
+                    win[i][j] = (i > j) ? 1.0 : 0.0;
+                } else {
+                    double gameWin;
+                    if (i == 6 && j == 6 && !isDecidingSet) {
+                        gameWin = tiebreak;
+                    } else {
+                        boolean aServes = ((total % 2) == 0) == aServesFirst;
+                        gameWin = aServes ? holdA : breakB;
+                    }
+                    win[i][j] = gameWin * win[i + 1][j] + (1.0 - gameWin) * win[i][j + 1];
+                }
+            }
+        }
+        return win[0][0];
+    }
+
+    /**
+     * Probability that player A wins a match
+     * @param pa probability that A wins a point on their serve
+     * @param pb probability that B wins a point on their serve
+     * @param setsToWin 2 for best of 3, 3 for best of 5
+     * @param aServesFirst true if A serves the first game of the match
+     * @return probability that A wins the match
+     */
+    public static double matchWin(double pa, double pb, int setsToWin, boolean aServesFirst) {
+        checkProbability(pa);
+        checkProbability(pb);
+        if (setsToWin < 1) {
+            throw new IllegalArgumentException("Sets to win must be positive");
+        }
+
+        // Set outcome depends only on who serves first and whether it is the deciding set
+        double firstA = setWin(pa, pb, aServesFirst, false);
+        double firstB = setWin(pa, pb, !aServesFirst, false);
+        double decidingA = setWin(pa, pb, aServesFirst, true);
+        double decidingB = setWin(pa, pb, !aServesFirst, true);
+
+        // win[i][j] = probability that A wins from i sets (A) to j sets (B)
+        double[][] win = new double[setsToWin + 1][setsToWin + 1];
+        for (int total = 2 * setsToWin - 1; total >= 0; total--) {
+            for (int i = Math.min(total, setsToWin); i >= 0; i--) {
+                int j = total - i;
+                if (j > setsToWin) {
+                    continue;
+                }
+                if (i == setsToWin || j == setsToWin) {
+                    win[i][j] = (i == setsToWin) ? 1.0 : 0.0;
+                } else {
+                    // The first server alternates from set to set
+                    boolean originalServer = (total % 2) == 0;
+                    boolean isDecidingSet = (i == setsToWin - 1 && j == setsToWin - 1);
+                    double setWin = isDecidingSet
+                                    ? (originalServer ? decidingA : decidingB)
+                                    : (originalServer ? firstA : firstB);
+                    win[i][j] = setWin * win[i + 1][j] + (1.0 - setWin) * win[i][j + 1];
+                }
+            }
+        }
+        return win[0][0];
+    }
+
+    /**
+     * Probability that player A wins a match, with the first server decided
+     * by a coin toss as Match does
+     * @param pa probability that A wins a point on their serve
+     * @param pb probability that B wins a point on their serve
+     * @param setsToWin 2 for best of 3, 3 for best of 5
+     * @return probability that A wins the match
+     */
+    public static double matchWin(double pa, double pb, int setsToWin) {
+        return 0.5 * (matchWin(pa, pb, setsToWin, true) + matchWin(pa, pb, setsToWin, false));
+    }
+
+    /**
+     * Probability that player A wins a match of the given category
+     * @param pa probability that A wins a point on their serve
+     * @param pb probability that B wins a point on their serve
+     * @param category MENS_SINGLES (best of 5) or WOMENS_SINGLES (best of 3)
+     * @return probability that A wins the match
+     */
+    public static double matchWin(double pa, double pb, Match.Category category) {
+        if (category == null) {
+            throw new IllegalArgumentException("Category cannot be null");
+        }
+        return matchWin(pa, pb, category == Match.Category.MENS_SINGLES ? 3 : 2);
+    }
+
+    /**
+     * Probability that A wins a point of a tiebreak
+     * @param pointsPlayed number of points already played in the tiebreak
+     */
+    private static double tiebreakPointWin(double pa, double pb, boolean aServesFirst, int pointsPlayed) {
+        // Same rotation as Game.playTiebreak: switch after point 1, then every 2 points
+        boolean firstServerServes = ((pointsPlayed + 1) / 2) % 2 == 0;
+        boolean aServes = firstServerServes == aServesFirst;
+        return aServes ? pa : 1.0 - pb;
+    }
+
+    /**
+     * Probability that A wins a tiebreak from level at 6-6 or later.
+     * Every pair of points from there has one point served by each player.
+     */
+    private static double winFromTiebreakDeuce(double pa, double pb) {
+        double bothToA = pa * (1.0 - pb);
+        double bothToB = (1.0 - pa) * pb;
+        if (bothToA + bothToB == 0) {
+            return 0.5;  // Neither player can ever lose a service point
+        }
+        return bothToA / (bothToA + bothToB);
+    }
+
+    /**
+     * Same finishing rule as Game.playTiebreak
+     */
+    private static boolean isTiebreakOver(int points1, int points2) {
+        return (points1 >= 7 || points2 >= 7) && Math.abs(points1 - points2) >= 2;
+    }
+
+    /**
+     * Same finishing rule as Set.checkSetWinner
+     */
+    private static boolean isSetOver(int games1, int games2) {
+        if (games1 < 6 && games2 < 6) {
+            return false;
+        }
+        return Math.abs(games1 - games2) >= 2 || games1 == 7 || games2 == 7;
+    }
+
+    private static void checkProbability(double p) {
+        if (!(p >= 0.0 && p <= 1.0)) {
+            throw new IllegalArgumentException("Probability must be between 0 and 1: " + p);
+        }
+    }
+}
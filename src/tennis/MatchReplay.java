@@ -0,0 +1,383 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Replays a match from its PointLog.
+ * The score after any point is found by a small score state machine that
+ * follows the same rules as Game, Set and Match. A copy of the state is kept
+ * every few points, so seeking to any moment of the match replays at most
+ * one checkpoint interval instead of starting from the first point.
+ *
+ * rebuild() goes further and recreates the complete Match, with all of its
+ * Set and Game objects and the player statistics, from the recorded points
+ * without drawing a single random number.
+ */
+public class MatchReplay {
+
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 32;
+
+    private static final int MAX_SETS = 5;
+
+    private final PointLog log;
+    private final int setsToWin;
+    private final int checkpointInterval;
+    private final List<Score> checkpoints;  // checkpoints.get(i) is the score after i * interval points
+
+    /**
+     * Constructor for MatchReplay of a played match
+     * @param match a match whose point log was enabled
+     */
+    public MatchReplay(Match match) {
+        this(requireLog(match), match.getCategory());
+    }
+
+    /**
+     * Constructor for MatchReplay
+     * @param log the recorded points
+     * @param category MENS_SINGLES (best of 5) or WOMENS_SINGLES (best of 3)
+     */
+    public MatchReplay(PointLog log, Match.Category category) {
+        this(log, setsToWin(category), DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * Constructor for MatchReplay
+     * @param log the recorded points
+     * @param setsToWin 2 for best of 3, 3 for best of 5
+     * @param checkpointInterval number of points between two kept scores
+     */
+    public MatchReplay(PointLog log, int setsToWin, int checkpointInterval) {
+        if (log == null) {
+            throw new IllegalArgumentException("Point log cannot be null");
+        }
+        if (setsToWin < 1 || setsToWin > (MAX_SETS + 1) / 2) {
+            throw new IllegalArgumentException("Sets to win must be between 1 and 3");
+        }
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+
+        this.log = log;
+        this.setsToWin = setsToWin;
+        this.checkpointInterval = checkpointInterval;
+        this.checkpoints = new ArrayList<>();
+
+        // One pass over the log, keeping a copy of the score every interval
+        Score score = new Score(log.isPlayer1ServingFirst());
+        checkpoints.add(score.copy());
+        for (int i = 0; i < log.size(); i++) {
+            advance(score, log.getPoint(i), i);
+            if ((i + 1) % checkpointInterval == 0) {
+                checkpoints.add(score.copy());
+            }
+        }
+    }
+
+    private static PointLog requireLog(Match match) {
+        if (match == null) {
+            throw new IllegalArgumentException("Match cannot be null");
+        }
+        if (match.getPointLog() == null) {
+            throw new IllegalArgumentException("Match has no point log");
+        }
+        return match.getPointLog();
+    }
+
+    private static int setsToWin(Match.Category category) {
+        if (category == null) {
+            throw new IllegalArgumentException("Category cannot be null");
+        }
+        return (category == Match.Category.MENS_SINGLES) ? 3 : 2;
+    }
+
+    public PointLog getPointLog() {
+        return log;
+    }
+
+    public int getPointCount() {
+        return log.size();
+    }
+
+    /**
+     * Gets the score after a number of points
+     * @param points number of points played, from 0 to getPointCount()
+     * @return the score at that moment
+     */
+    public Score scoreAfter(int points) {
+        if (points < 0 || points > log.size()) {
+            throw new IllegalArgumentException("Points must be between 0 and " + log.size());
+        }
+
+        Score score = checkpoints.get(points / checkpointInterval).copy();
+        for (int i = score.pointsPlayed; i < points; i++) {
+            advance(score, log.getPoint(i), i);
+        }
+        return score;
+    }
+
+    /**
+     * Gets the final score of the recorded match
+     * @return the score after the last point
+     */
+    public Score finalScore() {
+        return scoreAfter(log.size());
+    }
+
+    /**
+     * Applies one point to the score, with the rules of Game, Set and Match
+     */
+    private void advance(Score score, byte point, int index) {
+        if (score.matchOver) {
+            throw new IllegalArgumentException("Point log continues after the match ended (point " + index + ")");
+        }
+
+        boolean player1Won = ((point & 1) != 0) == score.player1Serving;
+        if (player1Won) {
+            score.player1Points++;
+        } else {
+            score.player2Points++;
+        }
+        score.pointsPlayed++;
+
+        int p1 = score.player1Points;
+        int p2 = score.player2Points;
+        if (score.tiebreak) {
+            // Switch after the first point, then every two points
+            if (((p1 + p2) % 2) == 1) {
+                score.player1Serving = !score.player1Serving;
+            }
+            if ((p1 >= 7 || p2 >= 7) && Math.abs(p1 - p2) >= 2) {
+                winGame(score, p1 > p2);
+            }
+        } else if ((p1 >= 4 || p2 >= 4) && Math.abs(p1 - p2) >= 2) {
+            winGame(score, p1 > p2);
+        }
+    }
+
+    private void winGame(Score score, boolean player1Won) {
+        int set = score.setCount - 1;
+        if (player1Won) {
+            score.player1Games[set]++;
+        } else {
+            score.player2Games[set]++;
+        }
+        score.player1Points = 0;
+        score.player2Points = 0;
+        score.tiebreak = false;
+
+        int g1 = score.player1Games[set];
+        int g2 = score.player2Games[set];
+        boolean setOver = (g1 >= 6 || g2 >= 6) && (Math.abs(g1 - g2) >= 2 || g1 == 7 || g2 == 7);
+        if (!setOver) {
+            // The server alternates every game, a tiebreak is served by the next server in turn
+            score.player1ServingGame = !score.player1ServingGame;
+            score.player1Serving = score.player1ServingGame;
+            score.tiebreak = (g1 == 6 && g2 == 6 && !isDecidingSet(score));
+            return;
+        }
+
+        if (g1 > g2) {
+            score.player1Sets++;
+        } else {
+            score.player2Sets++;
+        }
+        if (score.player1Sets == setsToWin || score.player2Sets == setsToWin) {
+            score.matchOver = true;
+            return;
+        }
+
+        // The first server alternates from set to set
+        score.player1ServingSet = !score.player1ServingSet;
+        score.player1ServingGame = score.player1ServingSet;
+        score.player1Serving = score.player1ServingSet;
+        score.setCount++;
+    }
+
+    private boolean isDecidingSet(Score score) {
+        return score.player1Sets == setsToWin - 1 && score.player2Sets == setsToWin - 1;
+    }
+
+    /**
+     * Rebuilds the recorded match by replaying its points.
+     * The players' statistics and rankings are updated exactly as when the
+     * match was played, so pass fresh copies to keep the originals untouched.
+     * @param player1 the first player of the recorded match
+     * @param player2 the second player of the recorded match
+     * @param referee the referee officiating the replay
+     * @param category the match category
+     * @param level the tournament round
+     * @param atpWtaPoints the ranking points awarded for the round
+     * @return the completed match, with all sets and games
+     */
+    public Match rebuild(Player player1, Player player2, Referee referee,
+                         Match.Category category, String level, int atpWtaPoints) {
+        if (setsToWin(category) != setsToWin) {
+            throw new IllegalArgumentException("Category does not match the recorded match");
+        }
+        if (!finalScore().isMatchOver()) {
+            throw new IllegalArgumentException("Point log ends before the match is over");
+        }
+
+        // The random stream is only used to pick a first server, which the log overrides
+        Match match = new Match(player1, player2, referee, category, level, atpWtaPoints,
+                                new SplittableRandom(0));
+        match.replayFrom(log);
+        match.play();
+        return match;
+    }
+
+    /**
+     * Score of a match at one moment
+     */
+    public static class Score {
+
+        private int pointsPlayed;
+        private int setCount;
+        private final int[] player1Games;
+        private final int[] player2Games;
+        private int player1Sets;
+        private int player2Sets;
+        private int player1Points;
+        private int player2Points;
+        private boolean tiebreak;
+        private boolean player1Serving;      // Server of the next point
+        private boolean player1ServingGame;  // Server of the current game's first point
+        private boolean player1ServingSet;   // Server of the current set's first game
+        private boolean matchOver;
+
+        private Score(boolean player1ServesFirst) {
+            this.pointsPlayed = 0;
+            this.setCount = 1;
+            this.player1Games = new int[MAX_SETS];
+            this.player2Games = new int[MAX_SETS];
+            this.player1Serving = player1ServesFirst;
+            this.player1ServingGame = player1ServesFirst;
+            this.player1ServingSet = player1ServesFirst;
+        }
+
+        private Score(Score other) {
+            this.pointsPlayed = other.pointsPlayed;
+            this.setCount = other.setCount;
+            this.player1Games = other.player1Games.clone();
+            this.player2Games = other.player2Games.clone();
+            this.player1Sets = other.player1Sets;
+            this.player2Sets = other.player2Sets;
+            this.player1Points = other.player1Points;
+            this.player2Points = other.player2Points;
+            this.tiebreak = other.tiebreak;
+            this.player1Serving = other.player1Serving;
+            this.player1ServingGame = other.player1ServingGame;
+            this.player1ServingSet = other.player1ServingSet;
+            this.matchOver = other.matchOver;
+        }
+
+        private Score copy() {
+            return new Score(this);
+        }
+
+        public int getPointsPlayed() {
+            return pointsPlayed;
+        }
+
+        /**
+         * Gets the number of sets started so far, the current set included
+         * @return the set count
+         */
+        public int getSetCount() {
+            return setCount;
+        }
+
+        public int getPlayer1Games(int set) {
+            checkSet(set);
+            return player1Games[set];
+        }
+
+        public int getPlayer2Games(int set) {
+            checkSet(set);
+            return player2Games[set];
+        }
+
+        private void checkSet(int set) {
+            if (set < 0 || set >= setCount) {
+                throw new IllegalArgumentException("Invalid set index: " + set);
+            }
+        }
+
+        public int getPlayer1Sets() {
+            return player1Sets;
+        }
+
+        public int getPlayer2Sets() {
+            return player2Sets;
+        }
+
+        public int getPlayer1Points() {
+            return player1Points;
+        }
+
+        public int getPlayer2Points() {
+            return player2Points;
+        }
+
+        public boolean isTiebreak() {
+            return tiebreak;
+        }
+
+        /**
+         * Checks who serves the next point
+         * @return true if player 1 serves
+         */
+        public boolean isPlayer1Serving() {
+            return player1Serving;
+        }
+
+        public boolean isMatchOver() {
+            return matchOver;
+        }
+
+        /**
+         * Gets the score as text, e.g. "6-4 3-6 2-1 (30-15)"
+         * @return the score string
+         */
+        public String getScoreString() {
+            StringBuilder sb = new StringBuilder();
+            for (int set = 0; set < setCount; set++) {
+                if (set > 0) {
+                    sb.append(" ");
+                }
+                sb.append(player1Games[set]).append("-").append(player2Games[set]);
+            }
+            if (!matchOver && (player1Points > 0 || player2Points > 0)) {
+                sb.append(" (").append(tiebreak ? player1Points + "-" + player2Points
+                                                : gamePoints(player1Points, player2Points) + "-" +
+                                                  gamePoints(player2Points, player1Points))
+                  .append(")");
+            }
+            return sb.toString();
+        }
+
+        private static String gamePoints(int points, int opponentPoints) {
+            if (points >= 3 && opponentPoints >= 3) {
+                return (points > opponentPoints) ? "AD" : "40";
+            }
+            return switch (points) {
+                case 0 -> "0";
+                case 1 -> "15";
+                case 2 -> "30";
+                default -> "40";
+            };
+        }
+
+        @Override
+        public String toString() {
+            return "Score after " + pointsPlayed + " points: " + getScoreString();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Named counters and latency histograms of a running simulation.
+ *
+ * The simulation itself records into the default registry, but only when
+ * started with -Dtennis.metrics=true: every Rally, Game, Set and Match
+ * played ("rally", "game", "set", "match") and every tournament round
+ * ("round", and "round.NAME" per round name). ENABLED is a static final
+ * constant, so with metrics off the JIT removes the instrumentation
+ * entirely and the hot paths run exactly as before; with metrics on, each
+ * instrumented call costs two System.nanoTime() calls and a few LongAdder
+ * updates, and no locks.
+ * Rates (e.g. rallies per second) are counts divided by the time since the
+ * registry was created or reset.
+ */
+public class MetricsRegistry {
+
+    /**
+     * Whether the simulation records metrics, from the system property tennis.metrics
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("tennis.metrics");
+
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+    // Instruments of the hot paths, looked up once
+    static final LatencyHistogram RALLIES = DEFAULT.histogram("rally");
+    static final LatencyHistogram GAMES = DEFAULT.histogram("game");
+    static final LatencyHistogram SETS = DEFAULT.histogram("set");
+    static final LatencyHistogram MATCHES = DEFAULT.histogram("match");
+    static final LatencyHistogram ROUNDS = DEFAULT.histogram("round");
+
+    private final Map<String, LongAdder> counters;
+    private final Map<String, LatencyHistogram> histograms;
+    private volatile long startNanos;
+
+    /**
+     * Constructor for MetricsRegistry, for metrics of one's own; the
+     * simulation records into getDefault()
+     */
+    public MetricsRegistry() {
+        this.counters = new ConcurrentHashMap<>();
+        this.histograms = new ConcurrentHashMap<>();
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Gets the registry the simulation records into when ENABLED
+     * @return the default registry
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Gets a counter, created on first use
+     * @param name the name of the counter
+     * @return the counter, the same for every call with this name
+     */
+    public LongAdder counter(String name) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Name cannot be empty");
+        }
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    /**
+     * Gets a latency histogram, created on first use
+     * @param name the name of the histogram
+     * @return the histogram, the same for every call with this name
+     */
+    public LatencyHistogram histogram(String name) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Name cannot be empty");
+        }
+        return histograms.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    /**
+     * Creates a ScoreEventBus consumer counting the events of the bus in
+     * this registry, under the names of their types in lower case ("bus.point",
+     * "bus.ace", "bus.double_fault", "bus.game", "bus.set", "bus.match",
+     * "bus.round_advanced"). Counts are added once per batch, and miss the
+     * events dropped if it is subscribed with ScoreEventBus.Overflow.DROP.
+     * @return a new handler, for one subscription
+     */
+    public ScoreEventHandler subscriber() {
+        EventJournal.Type[] types = EventJournal.Type.values();
+        LongAdder[] totals = new LongAdder[types.length];
+        for (EventJournal.Type type : types) {
+            totals[type.ordinal()] = counter("bus." + type.name().toLowerCase());
+        }
+        long[] batch = new long[types.length];
+        return (event, sequence, endOfBatch) -> {
+            batch[event.getType().ordinal()]++;
+            if (endOfBatch) {
+                for (int i = 0; i < batch.length; i++) {
+                    if (batch[i] != 0) {
+                        totals[i].add(batch[i]);
+                        batch[i] = 0;
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Gets the current value of every counter
+     * @return counter values by name, sorted by name
+     */
+    public Map<String, Long> getCounters() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.sum()));
+        return values;
+    }
+
+    /**
+     * Gets every histogram
+     * @return the histograms sorted by name
+     */
+    public List<LatencyHistogram> getHistograms() {
+        List<LatencyHistogram> list = new ArrayList<>(histograms.values());
+        list.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Gets how many times per second a histogram recorded a value
+     * @param name the name of the histogram, e.g. "rally" or "match"
+     * @return values per second since the registry was created or reset
+     */
+    public double getRate(String name) {
+        LatencyHistogram histogram = histograms.get(name);
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return (histogram == null || seconds <= 0) ? 0 : histogram.getCount() / seconds;
+    }
+
+    /**
+     * Clears every counter and histogram and restarts the rates
+     */
+    public void reset() {
+        counters.values().forEach(LongAdder::reset);
+        histograms.values().forEach(LatencyHistogram::reset);
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Gets a text report of every metric, one per line, with rates per second
+     * @return the report
+     */
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        sb.append(String.format("Metrics over %.1f s%n", seconds));
+        for (Map.Entry<String, Long> counter : getCounters().entrySet()) {
+            sb.append(String.format("%s: %d (%.1f/s)%n", counter.getKey(), counter.getValue(),
+                                    counter.getValue() / seconds));
+        }
+        for (LatencyHistogram histogram : getHistograms()) {
+            sb.append(histogram).append(String.format(" (%.1f/s)%n", histogram.getCount() / seconds));
+        }
+        return sb.toString();
+    }
+}
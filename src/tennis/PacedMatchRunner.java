@@ -0,0 +1,334 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs matches in real time, each in its own virtual thread.
+ * A pacing clock waits between rally outcomes so that every match plays at
+ * the configured number of points per second. Because a waiting virtual
+ * thread does not hold a platform thread, tens of thousands of paced matches
+ * can run side by side in one JVM.
+ *
+ * The runner measures how late each point is compared to its schedule;
+ * as long as the lateness stays small, the JVM sustains the load.
+ */
+public class PacedMatchRunner implements AutoCloseable {
+
+    // Lateness histogram buckets: bucket i counts lateness below 2^i microseconds
+    private static final int BUCKETS = 40;
+
+    private final long nanosPerPoint;
+    private final ExecutorService executor;
+    private final long startNanos;
+
+    private final AtomicInteger running;
+    private final AtomicInteger peakRunning;
+    private final LongAdder matchesStarted;
+    private final LongAdder matchesCompleted;
+    private final LongAdder matchesCancelled;
+    private final LongAdder pointsPlayed;
+    private final AtomicLong maxLatenessNanos;
+    private final AtomicLongArray latenessBuckets;
+
+    /**
+     * Constructor for PacedMatchRunner
+     * @param pointsPerSecond the pace of every match
+     */
+    public PacedMatchRunner(double pointsPerSecond) {
+        if (!(pointsPerSecond > 0)) {
+            throw new IllegalArgumentException("Points per second must be positive");
+        }
+
+        this.nanosPerPoint = (long) (TimeUnit.SECONDS.toNanos(1) / pointsPerSecond);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.startNanos = System.nanoTime();
+        this.running = new AtomicInteger();
+        this.peakRunning = new AtomicInteger();
+        this.matchesStarted = new LongAdder();
+        this.matchesCompleted = new LongAdder();
+        this.matchesCancelled = new LongAdder();
+        this.pointsPlayed = new LongAdder();
+        this.maxLatenessNanos = new AtomicLong();
+        this.latenessBuckets = new AtomicLongArray(BUCKETS);
+    }
+
+    /**
+     * Starts playing a match, set by set, in a new virtual thread.
+     * The match's referee should announce silently unless the console is meant to be flooded.
+     * @param match the match to play
+     * @return a future completing with the match once it is over
+     */
+    public Future<Match> submit(Match match) {
+        if (match == null) {
+            throw new IllegalArgumentException("Match cannot be null");
+        }
+        if (match.isComplete()) {
+            throw new IllegalArgumentException("Match is already complete");
+        }
+
+        PacingClock clock = new PacingClock();
+        match.addListener(clock);
+
+        return executor.submit(() -> {
+            matchesStarted.increment();
+            peakRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                clock.start();
+                while (!match.isComplete()) {
+                    match.playNextSet();
+                }
+                matchesCompleted.increment();
+            } catch (CancellationException e) {
+                matchesCancelled.increment();
+            } finally {
+                running.decrementAndGet();
+            }
+            return match;
+        });
+    }
+
+    /**
+     * Waits until every submitted match is over
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void awaitAll() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops all matches still running, they are left incomplete
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Pacing clock of one match, keeps an absolute schedule so that lateness does not accumulate
+     */
+    private class PacingClock implements MatchListener {
+
+        private long nextPointNanos;
+
+        void start() {
+            nextPointNanos = System.nanoTime();
+        }
+
+        @Override
+        public void onPoint(Rally rally, boolean serverWon) {
+            nextPointNanos += nanosPerPoint;
+
+            long now = System.nanoTime();
+            while (now < nextPointNanos) {
+                LockSupport.parkNanos(nextPointNanos - now);
+                if (Thread.interrupted()) {
+                    throw new CancellationException("Paced match stopped");
+                }
+                now = System.nanoTime();
+            }
+
+            pointsPlayed.increment();
+            recordLateness(now - nextPointNanos);
+        }
+    }
+
+    private void recordLateness(long latenessNanos) {
+        long micros = latenessNanos / 1000;
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        latenessBuckets.incrementAndGet(bucket);
+        maxLatenessNanos.accumulateAndGet(latenessNanos, Math::max);
+    }
+
+    /**
+     * Takes a snapshot of the runner's throughput and latency
+     * @return the report
+     */
+    public Report report() {
+        long[] buckets = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = latenessBuckets.get(i);
+        }
+
+        return new Report(System.nanoTime() - startNanos, running.get(), peakRunning.get(),
+                          matchesStarted.sum(), matchesCompleted.sum(), matchesCancelled.sum(),
+                          pointsPlayed.sum(), nanosPerPoint, maxLatenessNanos.get(), buckets);
+    }
+
+    /**
+     * Throughput and latency of paced matches
+     */
+    public static class Report {
+
+        private final long elapsedNanos;
+        private final int runningMatches;
+        private final int peakRunningMatches;
+        private final long matchesStarted;
+        private final long matchesCompleted;
+        private final long matchesCancelled;
+        private final long pointsPlayed;
+        private final long nanosPerPoint;
+        private final long maxLatenessNanos;
+        private final long[] latenessBuckets;
+
+        private Report(long elapsedNanos, int runningMatches, int peakRunningMatches,
+                       long matchesStarted, long matchesCompleted, long matchesCancelled,
+                       long pointsPlayed, long nanosPerPoint, long maxLatenessNanos,
+                       long[] latenessBuckets) {
+            this.elapsedNanos = elapsedNanos;
+            this.runningMatches = runningMatches;
+            this.peakRunningMatches = peakRunningMatches;
+            this.matchesStarted = matchesStarted;
+            this.matchesCompleted = matchesCompleted;
+            this.matchesCancelled = matchesCancelled;
+            this.pointsPlayed = pointsPlayed;
+            this.nanosPerPoint = nanosPerPoint;
+            this.maxLatenessNanos = maxLatenessNanos;
+            this.latenessBuckets = latenessBuckets;
+        }
+
+        public int getRunningMatches() {
+            return runningMatches;
+        }
+
+        public int getPeakRunningMatches() {
+            return peakRunningMatches;
+        }
+
+        public long getMatchesStarted() {
+            return matchesStarted;
+        }
+
+        public long getMatchesCompleted() {
+            return matchesCompleted;
+        }
+
+        public long getMatchesCancelled() {
+            return matchesCancelled;
+        }
+
+        public long getPointsPlayed() {
+            return pointsPlayed;
+        }
+
+        /**
+         * Gets the points played per second over all matches
+         * @return throughput in points per second
+         */
+        public double getPointsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : pointsPlayed * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * Gets an upper bound of the given lateness percentile
+         * @param percentile between 0 and 100
+         * @return lateness in microseconds (power of two bucket bound, at most the maximum)
+         */
+        public long getLatenessPercentileMicros(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100");
+            }
+
+            long total = 0;
+            for (long count : latenessBuckets) {
+                total += count;
+            }
+            long rank = (long) Math.ceil(total * percentile / 100.0);
+
+            long seen = 0;
+            for (int i = 0; i < latenessBuckets.length; i++) {
+                seen += latenessBuckets[i];
+                if (seen >= rank && seen > 0) {
+                    return Math.min(1L << i, getMaxLatenessMicros());
+                }
+            }
+            return 0;
+        }
+
+        public long getMaxLatenessMicros() {
+            return maxLatenessNanos / 1000;
+        }
+
+        /**
+         * Checks if the pace is being kept: 99% of points no later than a tenth of the point interval
+         * @return true if the JVM sustains the current number of paced matches
+         */
+        public boolean isPaceSustained() {
+            return getLatenessPercentileMicros(99) * 1000 <= nanosPerPoint / 10;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("\n========== PACED MATCHES ==========\n");
+            sb.append("Elapsed: ").append(String.format("%.1f", elapsedNanos / 1e9)).append(" s\n");
+            sb.append("Matches running: ").append(runningMatches)
+              .append(" (peak ").append(peakRunningMatches).append(")\n");
+            sb.append("Matches started/completed/stopped: ").append(matchesStarted).append("/")
+              .append(matchesCompleted).append("/").append(matchesCancelled).append("\n");
+            sb.append("Points played: ").append(pointsPlayed)
+              .append(String.format(" (%.0f points/s)", getPointsPerSecond())).append("\n");
+            sb.append("Point lateness p50/p99/max: ").append(getLatenessPercentileMicros(50)).append("/")
+              .append(getLatenessPercentileMicros(99)).append("/").append(getMaxLatenessMicros()).append(" us\n");
+            sb.append("Pace sustained: ").append(isPaceSustained() ? "yes" : "no").append("\n");
+            sb.append("===================================\n");
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Load test: plays the first rounds of many tournaments as paced matches
+     * and prints a report every few seconds.
+     * Arguments: [tournaments] [points per second] [seconds]
+     * @param args command line arguments
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int tournaments = args.length > 0 ? Integer.parseInt(args[0]) : 80;
+        double pointsPerSecond = args.length > 1 ? Double.parseDouble(args[1]) : 2.0;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        List<Match> matches = new ArrayList<>();
+        for (int i = 0; i < tournaments; i++) {
+            Tournament tournament = new Tournament(Tournament.GrandSlam.values()[i % 4], 2024, i);
+            tournament.setAnnouncer(SilentAnnouncer.INSTANCE);
+            tournament.generatePlayers();
+            tournament.generateReferees(15);
+            tournament.initializeFirstRound();
+            matches.addAll(tournament.getMatchesForRound(tournament.getCurrentRound()));
+        }
+
+        try (PacedMatchRunner runner = new PacedMatchRunner(pointsPerSecond)) {
+            for (Match match : matches) {
+                runner.submit(match);
+            }
+            System.out.println("Started " + matches.size() + " paced matches at " +
+                               pointsPerSecond + " points/s");
+
+            for (int elapsed = 0; elapsed < seconds; elapsed += 5) {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(Math.min(5, seconds - elapsed)));
+                System.out.println(runner.report());
+            }
+        }
+    }
+}
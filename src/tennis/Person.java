@@ -5,12 +5,27 @@
 package tennis;
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Base class representing a person in the tennis tournament system.
  * Contains common attributes for all people (players, referees, spectators).
  */
 public class Person {
+    
+    /**
+     * Callback for a change of the names a person is searched by
+     */
+    public interface NameListener {
+        
+        /**
+         * Called after the common name or nickname has changed
+         * @param person the person renamed
+         */
+        void onNameChanged(Person person);
+    }
+    
     // Immutable attributes 
     private final String birthName;
     private final String firstName;
@@ -24,6 +39,7 @@ public class Person {
     private LocalDate dateOfDeath;
     private double height;  // in cm
     private double weight;  // in kg
+    private volatile List<NameListener> nameListeners;  // Created by the first listener
     
     /**
      * Constructor for a living person
@@ -121,6 +137,7 @@ public class Person {
      */
     public void setCommonName(String commonName) {
         this.commonName = commonName;
+        nameChanged();
     }
     
     public String getNickname() {
@@ -129,6 +146,40 @@ public class Person {
     
     public void setNickname(String nickname) {
         this.nickname = nickname;
+        nameChanged();
+    }
+    
+    /**
+     * Adds a listener told when the common name or nickname changes, e.g. a PlayerIndex
+     * @param listener the listener to add
+     */
+    public synchronized void addNameListener(NameListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        if (nameListeners == null) {
+            nameListeners = new CopyOnWriteArrayList<>();
+        }
+        nameListeners.add(listener);
+    }
+    
+    /**
+     * Removes a listener added with addNameListener
+     * @param listener the listener to remove
+     */
+    public synchronized void removeNameListener(NameListener listener) {
+        if (nameListeners != null) {
+            nameListeners.remove(listener);
+        }
+    }
+    
+    private void nameChanged() {
+        List<NameListener> listeners = nameListeners;
+        if (listeners != null) {
+            for (NameListener listener : listeners) {
+                listener.onNameChanged(this);
+            }
+        }
     }
     
     public LocalDate getDateOfDeath() {
@@ -172,7 +223,20 @@ public class Person {
      * @return age in years (current age if alive, age at death if deceased)
      */
     public int getAge() {
-        LocalDate endDate = (dateOfDeath != null) ? dateOfDeath : LocalDate.now();
+        return getAgeOn(LocalDate.now());
+    }
+    
+    /**
+     * Calculates the age of the person on a given date, e.g. the day a
+     * simulated tournament starts
+     * @param date the date, not before the birth date
+     * @return age in years on that date (age at death if deceased before it)
+     */
+    public int getAgeOn(LocalDate date) {
+        if (date == null || date.isBefore(birthDate)) {
+            throw new IllegalArgumentException("Date must be on or after the birth date");
+        }
+        LocalDate endDate = (dateOfDeath != null && dateOfDeath.isBefore(date)) ? dateOfDeath : date;
         return Period.between(birthDate, endDate).getYears();
     }
     
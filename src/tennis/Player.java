@@ -10,7 +10,7 @@ import java.time.LocalDate;
  * Represents a tennis player in the tournament.
  * Extends Person with player-specific attributes and behaviors.
  */
-public class Player extends Person {
+public final class Player extends Person {
     
     /**
      * Enumerator for playing hand
@@ -30,6 +30,9 @@ public class Player extends Person {
     private Hand playingHand;
     private String sponsor;
     private int ranking;
+    private volatile RatingEngine ratingEngine;  // Derives the ranking when set
+    private volatile double rating;
+    private volatile double ratingDeviation;
     private String coach;
     private Gender gender;
     private String attireColor;  // Color of shorts (men) or skirt (women)
@@ -96,6 +99,24 @@ public class Player extends Person {
         this.breakPointsTotal = 0;
     }
     
+    /**
+     * Copy constructor, creates a detached player with the same identity, ranking
+     * and attributes but fresh statistics. Simulations use copies so that each run
+     * has its own mutable counters.
+     * @param other the player to copy
+     */
+    public Player(Player other) {
+        this(other.getBirthName(), other.getFirstName(), other.getBirthDate(),
+             other.getPlaceOfBirth(), other.getNationality(), other.getHeight(),
+             other.getWeight(), other.playingHand, other.gender, other.getRanking());
+        
+        setCommonName(other.getCommonName());
+        setNickname(other.getNickname());
+        this.sponsor = other.sponsor;
+        this.coach = other.coach;
+        this.attireColor = other.attireColor;
+    }
+    
     // Getters and setters
     public Hand getPlayingHand() {
         return playingHand;
@@ -116,11 +137,26 @@ public class Player extends Person {
         this.sponsor = sponsor;
     }
     
+    /**
+     * Gets the ranking, the player's position in the rating order when the
+     * player is rated by a RatingEngine
+     * @return the ranking, 1 for the best player
+     */
     public int getRanking() {
-        return ranking;
+        RatingEngine engine = ratingEngine;
+        if (engine != null) {
+            return engine.getRank(this);
+        }
+        synchronized (this) {
+            return ranking;
+        }
     }
     
-    public void setRanking(int ranking) {
+    /**
+     * Sets the ranking used while the player is not rated by a RatingEngine
+     * @param ranking the ranking
+     */
+    public synchronized void setRanking(int ranking) {
         if (ranking <= 0) {
             throw new IllegalArgumentException("Ranking must be positive");
         }
@@ -206,62 +242,147 @@ public class Player extends Person {
         return breakPointsTotal;
     }
     
-    // Methods to update statistics
-    public void recordMatchWin() {
+    // Methods to update statistics, synchronized because matches of a round may run in parallel
+    public synchronized void recordMatchWin() {
         this.matchesWon++;
     }
     
-    public void recordMatchLoss() {
+    public synchronized void recordMatchLoss() {
         this.matchesLost++;
     }
     
-    public void recordSetWin() {
+    public synchronized void recordSetWin() {
         this.setsWon++;
     }
     
-    public void recordSetLoss() {
+    public synchronized void recordSetLoss() {
         this.setsLost++;
     }
     
-    public void recordGameWin() {
+    public synchronized void recordGameWin() {
         this.gamesWon++;
     }
     
-    public void recordGameLoss() {
+    public synchronized void recordGameLoss() {
         this.gamesLost++;
     }
     
-    public void recordPointWin() {
+    public synchronized void recordPointWin() {
         this.pointsWon++;
     }
     
-    public void recordPointLoss() {
+    public synchronized void recordPointLoss() {
         this.pointsLost++;
     }
     
-    public void recordAce() {
+    public synchronized void recordAce() {
         this.aces++;
         this.pointsWon++;
     }
     
-    public void recordDoubleFault() {
+    public synchronized void recordDoubleFault() {
         this.doubleFaults++;
         this.pointsLost++;
     }
     
-    public void recordBreakPoint(boolean converted) {
+    /**
+     * Records the totals of a whole match at once, used when the match
+     * is simulated by MatchKernel instead of point by point
+     * @param setsWon sets won in the match
+     * @param setsLost sets lost in the match
+     * @param gamesWon games won in the match
+     * @param gamesLost games lost in the match
+     * @param pointsWon points won in the match, aces included
+     * @param pointsLost points lost in the match
+     * @param aces aces served in the match
+     */
+    public synchronized void recordMatchTotals(int setsWon, int setsLost, int gamesWon, int gamesLost,
+                                               int pointsWon, int pointsLost, int aces) {
+        this.setsWon += setsWon;
+        this.setsLost += setsLost;
+        this.gamesWon += gamesWon;
+        this.gamesLost += gamesLost;
+        this.pointsWon += pointsWon;
+        this.pointsLost += pointsLost;
+        this.aces += aces;
+    }
+    
+    /**
+     * Restores the statistics saved in a TournamentSnapshot
+     * @param stats matches, sets, games and points won and lost, aces, double faults,
+     *              break points converted and total, in the order of the getters
+     */
+    synchronized void restoreStatistics(int[] stats) {
+        if (stats == null || stats.length != 12) {
+            throw new IllegalArgumentException("Statistics must have 12 values");
+        }
+        this.matchesWon = stats[0];
+        this.matchesLost = stats[1];
+        this.setsWon = stats[2];
+        this.setsLost = stats[3];
+        this.gamesWon = stats[4];
+        this.gamesLost = stats[5];
+        this.pointsWon = stats[6];
+        this.pointsLost = stats[7];
+        this.aces = stats[8];
+        this.doubleFaults = stats[9];
+        this.breakPointsConverted = stats[10];
+        this.breakPointsTotal = stats[11];
+    }
+    
+    /**
+     * Restores the attire color saved in a TournamentSnapshot, without announcing it
+     * @param attireColor the attire color
+     */
+    void restoreAttireColor(String attireColor) {
+        this.attireColor = attireColor;
+    }
+    
+    public synchronized void recordBreakPoint(boolean converted) {
         this.breakPointsTotal++;
         if (converted) {
             this.breakPointsConverted++;
         }
     }
     
+    public RatingEngine getRatingEngine() {
+        return ratingEngine;
+    }
+    
+    void setRatingEngine(RatingEngine ratingEngine) {
+        this.ratingEngine = ratingEngine;
+    }
+    
+    /**
+     * Gets the rating given by the player's RatingEngine
+     * @return the rating, 0 if not rated
+     */
+    public double getRating() {
+        return rating;
+    }
+    
+    /**
+     * Gets the uncertainty of the rating (Glicko rating deviation)
+     * @return the rating deviation, 0 if not rated or not used by the engine
+     */
+    public double getRatingDeviation() {
+        return ratingDeviation;
+    }
+    
+    /**
+     * Sets the rating, only called by the player's RatingEngine
+     */
+    void setRating(double rating, double ratingDeviation) {
+        this.rating = rating;
+        this.ratingDeviation = ratingDeviation;
+    }
+    
     /**
      * Updates ranking after a match result
      * @param won true if player won the match
      * @param opponentRanking opponent's ranking
      */
-    public void updateRanking(boolean won, int opponentRanking) {
+    public synchronized void updateRanking(boolean won, int opponentRanking) {
         if (won) {
             // Win against higher-ranked player improves ranking more
             if (opponentRanking < this.ranking) {
@@ -307,10 +428,10 @@ public class Player extends Person {
      * Gets player statistics summary
      * @return 
      */
-    public String getStatsSummary() {
+    public synchronized String getStatsSummary() {
         StringBuilder sb = new StringBuilder();
         sb.append("\n=== Statistics for ").append(getFullName()).append(" ===\n");
-        sb.append("Ranking: ").append(ranking).append("\n");
+        sb.append("Ranking: ").append(getRanking()).append("\n");
         sb.append("Matches: ").append(matchesWon).append("W - ").append(matchesLost).append("L\n");
         sb.append("Sets: ").append(setsWon).append("W - ").append(setsLost).append("L\n");
         sb.append("Games: ").append(gamesWon).append("W - ").append(gamesLost).append("L\n");
@@ -328,6 +449,6 @@ public class Player extends Person {
     
     @Override
     public String toString() {
-        return super.toString() + " [Ranking: " + ranking + ", " + playingHand + "-handed, " + gender + "]";
+        return super.toString() + " [Ranking: " + getRanking() + ", " + playingHand + "-handed, " + gender + "]";
     }
 }
\ No newline at end of file
@@ -0,0 +1,378 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Name index over players, for searching large fields.
+ * Each player is found by first name, display name and nickname, folded to
+ * lower case once when the player is added or renamed.
+ *
+ * Substring search uses an n-gram index: every substring of one to three
+ * characters of a name points to the players whose names contain it, so a
+ * short query is a single lookup and a longer one only checks the players
+ * sharing its rarest three-character gram. Prefix search uses the sorted
+ * names. The index listens to its players and re-indexes a player whose
+ * common name or nickname changes.
+ */
+public final class PlayerIndex implements Person.NameListener {
+
+    private static final int MAX_GRAM = 3;
+
+    private final List<Player> players;              // By id, null once removed
+    private final List<String[]> names;              // Folded names by id
+    private final Map<Person, Integer> ids;
+    private final GramTable grams;                   // Packed gram -> ids of players containing it
+    private final NavigableMap<String, IdList> sortedNames;
+    private int size;
+
+    /**
+     * Constructor for an empty PlayerIndex
+     */
+    public PlayerIndex() {
+        this.players = new ArrayList<>();
+        this.names = new ArrayList<>();
+        this.ids = new IdentityHashMap<>();
+        this.grams = new GramTable();
+        this.sortedNames = new TreeMap<>();
+        this.size = 0;
+    }
+
+    /**
+     * Constructor for a PlayerIndex over some players
+     * @param players the players to index
+     */
+    public PlayerIndex(Collection<Player> players) {
+        this();
+        for (Player player : players) {
+            add(player);
+        }
+    }
+
+    /**
+     * Adds a player to the index
+     * @param player the player to add
+     * @return false if the player was already indexed
+     */
+    public synchronized boolean add(Player player) {
+        if (player == null) {
+            throw new IllegalArgumentException("Player cannot be null");
+        }
+        if (ids.containsKey(player)) {
+            return false;
+        }
+
+        int id = players.size();
+        players.add(player);
+        names.add(foldedNames(player));
+        ids.put(player, id);
+        index(id);
+        size++;
+        player.addNameListener(this);
+        return true;
+    }
+
+    /**
+     * Removes a player from the index
+     * @param player the player to remove
+     * @return false if the player was not indexed
+     */
+    public synchronized boolean remove(Player player) {
+        Integer id = ids.remove(player);
+        if (id == null) {
+            return false;
+        }
+
+        unindex(id);
+        players.set(id, null);
+        names.set(id, null);
+        size--;
+        player.removeNameListener(this);
+        return true;
+    }
+
+    @Override
+    public synchronized void onNameChanged(Person person) {
+        Integer id = ids.get(person);
+        if (id != null) {
+            unindex(id);
+            names.set(id, foldedNames(players.get(id)));
+            index(id);
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Finds the players with a name containing some text, ignoring case
+     * @param text the text to look for
+     * @return the matching players, in the order they were added
+     */
+    public synchronized List<Player> search(String text) {
+        String query = fold(text);
+        if (query.isEmpty()) {
+            return allPlayers();
+        }
+
+        if (query.length() <= MAX_GRAM) {
+            // Every substring this short is itself indexed
+            return toPlayers(grams.get(gramKey(query, 0, query.length())));
+        }
+
+        // Check only the players sharing the query's rarest gram
+        IdList rarest = null;
+        for (int start = 0; start + MAX_GRAM <= query.length(); start++) {
+            IdList candidates = grams.get(gramKey(query, start, MAX_GRAM));
+            if (candidates == null) {
+                return new ArrayList<>();
+            }
+            if (rarest == null || candidates.size < rarest.size) {
+                rarest = candidates;
+            }
+        }
+
+        IdList found = new IdList();
+        for (int i = 0; i < rarest.size; i++) {
+            int id = rarest.ids[i];
+            for (String name : names.get(id)) {
+                if (name.contains(query)) {
+                    found.add(id);
+                    break;
+                }
+            }
+        }
+        return toPlayers(found);
+    }
+
+    /**
+     * Finds the players with a name starting with some text, ignoring case
+     * @param prefix the start of the name
+     * @return the matching players, in the order they were added
+     */
+    public synchronized List<Player> findByPrefix(String prefix) {
+        String query = fold(prefix);
+        if (query.isEmpty()) {
+            return allPlayers();
+        }
+
+        // A player may match with several names
+        HashSet<Integer> found = new HashSet<>();
+        IdList matches = new IdList();
+        for (IdList list : sortedNames.subMap(query, true, query + Character.MAX_VALUE, false).values()) {
+            for (int i = 0; i < list.size; i++) {
+                if (found.add(list.ids[i])) {
+                    matches.add(list.ids[i]);
+                }
+            }
+        }
+        return toPlayers(matches);
+    }
+
+    private static String[] foldedNames(Player player) {
+        List<String> folded = new ArrayList<>(3);
+        for (String name : new String[] {player.getFirstName(), player.getDisplayName(), player.getNickname()}) {
+            if (name != null && !name.trim().isEmpty() && !folded.contains(fold(name))) {
+                folded.add(fold(name));
+            }
+        }
+        return folded.toArray(new String[0]);
+    }
+
+    private static String fold(String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Search text cannot be null");
+        }
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Packs up to three characters and their count into a long
+     */
+    private static long gramKey(String name, int start, int length) {
+        long key = length;
+        for (int i = start; i < start + length; i++) {
+            key = (key << 16) | name.charAt(i);
+        }
+        return key;
+    }
+
+    /**
+     * Adds the id to the lists of all grams and names of the player
+     */
+    private void index(int id) {
+        for (long gram : gramsOf(names.get(id))) {
+            grams.getOrCreate(gram).add(id);
+        }
+        for (String name : names.get(id)) {
+            sortedNames.computeIfAbsent(name, key -> new IdList()).add(id);
+        }
+    }
+
+    private void unindex(int id) {
+        for (long gram : gramsOf(names.get(id))) {
+            grams.get(gram).remove(id);
+        }
+        for (String name : names.get(id)) {
+            IdList list = sortedNames.get(name);
+            list.remove(id);
+            if (list.size == 0) {
+                sortedNames.remove(name);
+            }
+        }
+    }
+
+    /**
+     * Gets the distinct grams of one to three characters of some names
+     */
+    private static long[] gramsOf(String[] names) {
+        int count = 0;
+        for (String name : names) {
+            count += MAX_GRAM * name.length();
+        }
+        long[] keys = new long[count];
+        count = 0;
+        for (String name : names) {
+            for (int start = 0; start < name.length(); start++) {
+                for (int length = 1; length <= MAX_GRAM && start + length <= name.length(); length++) {
+                    keys[count++] = gramKey(name, start, length);
+                }
+            }
+        }
+
+        // Sort and drop repeated grams
+        Arrays.sort(keys, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || keys[i] != keys[distinct - 1]) {
+                keys[distinct++] = keys[i];
+            }
+        }
+        return Arrays.copyOf(keys, distinct);
+    }
+
+    private List<Player> toPlayers(IdList list) {
+        List<Player> result = new ArrayList<>();
+        if (list == null) {
+            return result;
+        }
+        // Ids of renamed players are appended again, so restore the order of addition
+        int[] sorted = Arrays.copyOf(list.ids, list.size);
+        Arrays.sort(sorted);
+        for (int id : sorted) {
+            result.add(players.get(id));
+        }
+        return result;
+    }
+
+    private List<Player> allPlayers() {
+        List<Player> result = new ArrayList<>(size);
+        for (Player player : players) {
+            if (player != null) {
+                result.add(player);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Open-addressing hash table from packed grams to id lists, without boxing.
+     * Lists left empty by renames are kept, the number of grams stays small.
+     */
+    private static final class GramTable {
+
+        private long[] keys = new long[1024];      // 0 marks a free slot, grams are never 0
+        private IdList[] lists = new IdList[1024];
+        private int count;
+
+        private IdList get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = hash(key) & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return lists[slot];
+                }
+            }
+            return null;
+        }
+
+        private IdList getOrCreate(long key) {
+            IdList list = get(key);
+            if (list != null) {
+                return list;
+            }
+            if (2 * (count + 1) > keys.length) {
+                grow();
+            }
+            list = new IdList();
+            put(key, list);
+            count++;
+            return list;
+        }
+
+        private void put(long key, IdList list) {
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (keys[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            lists[slot] = list;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            IdList[] oldLists = lists;
+            keys = new long[oldKeys.length * 2];
+            lists = new IdList[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    put(oldKeys[i], oldLists[i]);
+                }
+            }
+        }
+
+        private static int hash(long key) {
+            key *= 0x9E3779B97F4A7C15L;
+            return (int) (key ^ (key >>> 32));
+        }
+    }
+
+    /**
+     * Growable list of player ids
+     */
+    private static final class IdList {
+
+        private int[] ids = new int[4];
+        private int size;
+
+        private void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        private void remove(int id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    System.arraycopy(ids, i + 1, ids, i, size - i - 1);
+                    size--;
+                    return;
+                }
+            }
+        }
+    }
+}
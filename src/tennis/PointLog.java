@@ -0,0 +1,234 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+import java.util.Arrays;
+
+/**
+ * Compact point-by-point history of a match.
+ * Every rally is packed into a single byte:
+ * <pre>
+ *   bit 0     server won the point
+ *   bit 1     played on the second serve
+ *   bits 2-7  shot count (saturates at 63)
+ * </pre>
+ * Aces and double faults need no bits of their own: an ace is the only
+ * rally with one shot, a double fault the only one with none.
+ * Who serves each point follows from the score and the player serving
+ * first, which is the only thing stored besides the points, so a whole
+ * match takes a few hundred bytes.
+ */
+public class PointLog implements MatchListener {
+
+    private static final int SERVER_WON = 1;
+    private static final int SECOND_SERVE = 2;
+    private static final int SHOT_SHIFT = 2;
+    private static final int MAX_SHOTS = 63;
+
+    private static final int INITIAL_CAPACITY = 128;
+
+    private final boolean player1ServesFirst;
+    private byte[] points;
+    private int size;
+
+    /**
+     * Constructor for an empty PointLog
+     * @param player1ServesFirst true if player 1 serves the first point of the match
+     */
+    public PointLog(boolean player1ServesFirst) {
+        this.player1ServesFirst = player1ServesFirst;
+        this.points = new byte[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    @Override
+    public void onPoint(Rally rally, boolean serverWon) {
+        append(encode(serverWon, !rally.isFirstServe(), rally.getShotCount()));
+    }
+
+    /**
+     * Packs one rally into a byte
+     * @param serverWon true if the server won the point
+     * @param secondServe true if the point was played on the second serve
+     * @param shotCount number of shots (0 for a double fault, 1 for an ace)
+     * @return the packed point
+     */
+    public static byte encode(boolean serverWon, boolean secondServe, int shotCount) {
+        if (shotCount < 0) {
+            throw new IllegalArgumentException("Shot count cannot be negative");
+        }
+        int packed = Math.min(shotCount, MAX_SHOTS) << SHOT_SHIFT;
+        if (serverWon) {
+            packed |= SERVER_WON;
+        }
+        if (secondServe) {
+            packed |= SECOND_SERVE;
+        }
+        return (byte) packed;
+    }
+
+    /**
+     * Appends a packed point
+     * @param point a point packed by encode()
+     */
+    public void append(byte point) {
+        if (size == points.length) {
+            points = Arrays.copyOf(points, Math.max(INITIAL_CAPACITY, points.length * 2));
+        }
+        points[size++] = point;
+    }
+
+    /**
+     * Releases the unused part of the buffer, e.g. once the match is over
+     */
+    public void trimToSize() {
+        if (size < points.length) {
+            points = Arrays.copyOf(points, size);
+        }
+    }
+
+    public boolean isPlayer1ServingFirst() {
+        return player1ServesFirst;
+    }
+
+    /**
+     * Gets the number of points logged
+     * @return the number of points
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets a packed point
+     * @param index point number, from 0
+     * @return the packed byte
+     */
+    public byte getPoint(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Point " + index + " out of range");
+        }
+        return points[index];
+    }
+
+    public boolean isServerWon(int index) {
+        return (getPoint(index) & SERVER_WON) != 0;
+    }
+
+    public boolean isSecondServe(int index) {
+        return (getPoint(index) & SECOND_SERVE) != 0;
+    }
+
+    public int getShotCount(int index) {
+        return (getPoint(index) & 0xFF) >>> SHOT_SHIFT;
+    }
+
+    public boolean isAce(int index) {
+        return getShotCount(index) == 1;
+    }
+
+    public boolean isDoubleFault(int index) {
+        return getShotCount(index) == 0;
+    }
+
+    /**
+     * Counts the aces and double faults of the match
+     * @return {aces, double faults}
+     */
+    public int[] countAcesAndDoubleFaults() {
+        int[] counts = new int[2];
+        for (int i = 0; i < size; i++) {
+            int shots = (points[i] & 0xFF) >>> SHOT_SHIFT;
+            if (shots == 1) {
+                counts[0]++;
+            } else if (shots == 0) {
+                counts[1]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Gets the heap bytes used by the log (object headers included, approximately)
+     * @return memory footprint in bytes
+     */
+    public long getFootprintBytes() {
+        return 24 + 16 + points.length;
+    }
+
+    /**
+     * Serialises the log: one header byte (first server) followed by the points
+     * @return the serialised log
+     */
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[size + 1];
+        bytes[0] = (byte) (player1ServesFirst ? 1 : 0);
+        System.arraycopy(points, 0, bytes, 1, size);
+        return bytes;
+    }
+
+    /**
+     * Reads a log written by toByteArray()
+     * @param bytes the serialised log
+     * @return the log
+     */
+    public static PointLog fromByteArray(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            throw new IllegalArgumentException("Point log bytes cannot be null or empty");
+        }
+        if (bytes[0] != 0 && bytes[0] != 1) {
+            throw new IllegalArgumentException("Invalid point log header: " + bytes[0]);
+        }
+
+        PointLog log = new PointLog(bytes[0] == 1);
+        log.points = Arrays.copyOfRange(bytes, 1, bytes.length);
+        log.size = bytes.length - 1;
+        return log;
+    }
+
+    /**
+     * Gets a cursor reading the points from the first one
+     * @return a new cursor
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Reads the points of the log one after another, used to replay a match
+     */
+    public class Cursor {
+
+        private int position;
+
+        private Cursor() {
+            this.position = 0;
+        }
+
+        public int getPosition() {
+            return position;
+        }
+
+        public boolean hasNext() {
+            return position < size;
+        }
+
+        /**
+         * Reads the next packed point
+         * @return the packed byte
+         */
+        public byte next() {
+            if (position >= size) {
+                throw new IllegalStateException("Point log ends after " + size + " points");
+            }
+            return points[position++];
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PointLog: " + size + " points, " + getFootprintBytes() + " bytes";
+    }
+}
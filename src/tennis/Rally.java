@@ -7,6 +7,7 @@ package tennis;
 
 
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a rally (single point exchange) in a tennis game.
@@ -31,7 +32,7 @@ public class Rally {
     private boolean isAce;
     private boolean isDoubleFault;
     private boolean isFirstServe;
-    private Random random;
+    private RandomGenerator random;
     
     /**
      * Constructor for Rally
@@ -39,14 +40,27 @@ public class Rally {
      * @param receiver the player receiving
      */
     public Rally(Player server, Player receiver) {
+        this(server, receiver, new Random());
+    }
+    
+    /**
+     * Constructor for Rally drawing from an existing random stream
+     * @param server the player serving
+     * @param receiver the player receiving
+     * @param random the match's random number stream
+     */
+    public Rally(Player server, Player receiver, RandomGenerator random) {
         if (server == null || receiver == null) {
             throw new IllegalArgumentException("Players cannot be null");
         }
+        if (random == null) {
+            throw new IllegalArgumentException("Random generator cannot be null");
+        }
         
         this.server = server;
         this.receiver = receiver;
         this.shotCount = 0;
-        this.random = new Random();
+        this.random = random;
         this.isFirstServe = true;
         this.isAce = false;
         this.isDoubleFault = false;
@@ -58,11 +72,26 @@ public class Rally {
      * @return the outcome of the rally
      */
     public Outcome play(Referee referee) {
+        if (!MetricsRegistry.ENABLED) {
+            return playPoint(referee);
+        }
+        long start = System.nanoTime();
+        Outcome result = playPoint(referee);
+        MetricsRegistry.RALLIES.record(System.nanoTime() - start);
+        return result;
+    }
+    
+    /**
+     * Plays the serves and, if needed, the rally
+     */
+    private Outcome playPoint(Referee referee) {
         // First serve attempt
         boolean firstServeIn = attemptServe(0.65);  // 65% first serve percentage
         
         if (!firstServeIn) {
-            referee.announceFault("First serve");
+            if (referee.isAnnouncing()) {
+                referee.announceFault("First serve");
+            }
             isFirstServe = false;
             
             // Second serve attempt
@@ -70,7 +99,9 @@ public class Rally {
             
             if (!secondServeIn) {
                 // Double fault
-                referee.announceDoubleFault(server.getFullName());
+                if (referee.isAnnouncing()) {
+                    referee.announceDoubleFault(server.getFullName());
+                }
                 this.isDoubleFault = true;
                 this.outcome = Outcome.DOUBLE_FAULT;
                 server.recordDoubleFault();
@@ -81,7 +112,9 @@ public class Rally {
         
         // Serve is in, check for ace
         if (checkForAce(isFirstServe)) {
-            referee.announceAce();
+            if (referee.isAnnouncing()) {
+                referee.announceAce();
+            }
             this.isAce = true;
             this.outcome = Outcome.ACE;
             server.recordAce();
@@ -95,6 +128,59 @@ public class Rally {
         return playRally(referee);
     }
     
+    /**
+     * Replays a rally recorded in a PointLog.
+     * Records the same statistics and makes the same announcements as play(),
+     * without drawing any random numbers.
+     * @param referee the referee officiating
+     * @param point the packed point from the log
+     * @return the outcome of the rally, as play() returns it
+     */
+    Outcome replay(Referee referee, byte point) {
+        boolean serverWon = (point & 1) != 0;
+        boolean secondServe = (point & 2) != 0;
+        this.shotCount = (point & 0xFF) >>> 2;
+        
+        if (secondServe) {
+            if (referee.isAnnouncing()) {
+                referee.announceFault("First serve");
+            }
+            isFirstServe = false;
+        }
+        
+        if (shotCount == 0) {
+            if (referee.isAnnouncing()) {
+                referee.announceDoubleFault(server.getFullName());
+            }
+            this.isDoubleFault = true;
+            this.outcome = Outcome.DOUBLE_FAULT;
+            server.recordDoubleFault();
+            receiver.recordPointWin();
+            return Outcome.PLAYER2_WINS;
+        }
+        
+        if (shotCount == 1) {
+            if (referee.isAnnouncing()) {
+                referee.announceAce();
+            }
+            this.isAce = true;
+            this.outcome = Outcome.ACE;
+            server.recordAce();
+            receiver.recordPointLoss();
+            return Outcome.PLAYER1_WINS;
+        }
+        
+        if (serverWon) {
+            server.recordPointWin();
+            receiver.recordPointLoss();
+            return Outcome.PLAYER1_WINS;
+        } else {
+            receiver.recordPointWin();
+            server.recordPointLoss();
+            return Outcome.PLAYER2_WINS;
+        }
+    }
+    
     /**
      * Attempts a serve
      * @param successRate probability of serve being in
@@ -0,0 +1,133 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Keeps a real-valued rating for every registered player and derives the
+ * rankings from it. The RatingModel (EloRating, GlickoRating, ...) updates
+ * both ratings after each match; the players of each gender are kept in a
+ * Leaderboard ordered by rating, so a match costs O(log n) and a player's
+ * ranking is their position: contiguous, without duplicates or gaps.
+ *
+ * A registered player's getRanking() is answered by the engine. A new
+ * player starts at DEFAULT_RATING less 100 points per factor e of their
+ * ranking, so the order of the existing rankings is kept.
+ */
+public class RatingEngine {
+
+    public static final double DEFAULT_RATING = 1500;
+
+    private final RatingModel model;
+    private final Map<Player.Gender, Leaderboard> leaderboards;
+    private final double[] ratings;  // Scratch for the model, guarded by this
+
+    /**
+     * Constructor for RatingEngine
+     * @param model the rating formula
+     */
+    public RatingEngine(RatingModel model) {
+        if (model == null) {
+            throw new IllegalArgumentException("Rating model cannot be null");
+        }
+        this.model = model;
+        this.leaderboards = new EnumMap<>(Player.Gender.class);
+        for (Player.Gender gender : Player.Gender.values()) {
+            // Highest rating first
+            leaderboards.put(gender, new Leaderboard(gender, player -> -player.getRating()));
+        }
+        this.ratings = new double[4];
+    }
+
+    public RatingModel getModel() {
+        return model;
+    }
+
+    /**
+     * Starts rating a player, from now on their ranking comes from this engine
+     * @param player the player to rate
+     * @return false if the player is already rated by this engine
+     */
+    public synchronized boolean register(Player player) {
+        if (player == null) {
+            throw new IllegalArgumentException("Player cannot be null");
+        }
+        if (player.getRatingEngine() == this) {
+            return false;
+        }
+        if (player.getRatingEngine() != null) {
+            throw new IllegalStateException("Player is rated by another engine");
+        }
+
+        player.setRating(DEFAULT_RATING - 100 * Math.log(player.getRanking()), model.getInitialDeviation());
+        leaderboards.get(player.getGender()).add(player);
+        player.setRatingEngine(this);
+        return true;
+    }
+
+    /**
+     * Starts rating a player with a rating read from a TournamentSnapshot.
+     * Players of equal rating are ranked in the order they are restored.
+     */
+    synchronized void restore(Player player, double rating, double ratingDeviation) {
+        if (player.getRatingEngine() != null) {
+            throw new IllegalStateException("Player is already rated");
+        }
+        player.setRating(rating, ratingDeviation);
+        leaderboards.get(player.getGender()).add(player);
+        player.setRatingEngine(this);
+    }
+
+    /**
+     * Updates the ratings of both players of a match and their positions
+     * @param winner the winner, rated by this engine
+     * @param loser the loser, rated by this engine
+     */
+    public synchronized void recordMatch(Player winner, Player loser) {
+        if (winner.getRatingEngine() != this || loser.getRatingEngine() != this) {
+            throw new IllegalArgumentException("Both players must be rated by this engine");
+        }
+
+        ratings[0] = winner.getRating();
+        ratings[1] = winner.getRatingDeviation();
+        ratings[2] = loser.getRating();
+        ratings[3] = loser.getRatingDeviation();
+        model.rate(ratings);
+        winner.setRating(ratings[0], ratings[1]);
+        loser.setRating(ratings[2], ratings[3]);
+
+        leaderboards.get(winner.getGender()).update(winner);
+        leaderboards.get(loser.getGender()).update(loser);
+    }
+
+    /**
+     * Gets the ranking of a player, their position by rating within their gender
+     * @param player a player rated by this engine
+     * @return the ranking, 1 for the highest rating
+     */
+    public int getRank(Player player) {
+        return leaderboards.get(player.getGender()).getPosition(player);
+    }
+
+    /**
+     * Gets the players of a gender ordered by rating
+     * @param gender MALE or FEMALE
+     * @return the live leaderboard
+     */
+    public Leaderboard getLeaderboard(Player.Gender gender) {
+        if (gender == null) {
+            throw new IllegalArgumentException("Gender cannot be null");
+        }
+        return leaderboards.get(gender);
+    }
+
+    @Override
+    public String toString() {
+        return "RatingEngine [" + model + ", " + leaderboards.get(Player.Gender.MALE).size() + " men, "
+               + leaderboards.get(Player.Gender.FEMALE).size() + " women]";
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package tennis;
+
+/**
+ * Formula by which a RatingEngine updates two ratings after a match,
+ * e.g. EloRating or GlickoRating.
+ */
+public interface RatingModel {
+
+    /**
+     * Gets the rating deviation of a new player
+     * @return the initial deviation, 0 for models without one
+     */
+    double getInitialDeviation();
+
+    /**
+     * Updates the ratings of the two players of a match, in place.
+     * The array is reused from match to match so rating allocates nothing.
+     * @param ratings {winner rating, winner deviation, loser rating, loser deviation},
+     *                replaced by the values after the match
+     */
+    void rate(double[] ratings);
+}
@@ -5,7 +5,8 @@
 package tennis;
 
 import java.time.LocalDate;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a tennis referee who officiates matches.
@@ -16,7 +17,8 @@ public class Referee extends Person {
     private int experienceYears;
     private double reputation;  // 0.0 to 1.0, affects dispute resolution
     private int matchesOfficiated;
-    private Random random;
+    private RandomGenerator random;
+    private Announcer announcer;
     
     /**
      * Constructor for Referee
@@ -32,17 +34,52 @@ public class Referee extends Person {
     public Referee(String birthName, String firstName, LocalDate birthDate,
                    String placeOfBirth, String nationality, double height,
                    double weight, int experienceYears) {
+        this(birthName, firstName, birthDate, placeOfBirth, nationality, height,
+             weight, experienceYears, new SplittableRandom());
+    }
+    
+    /**
+     * Constructor for a Referee with a reproducible random stream
+     * @param birthName the referee's birth name (immutable)
+     * @param firstName the referee's first name (immutable)
+     * @param birthDate the referee's date of birth (immutable)
+     * @param placeOfBirth the referee's place of birth (immutable)
+     * @param nationality the referee's nationality (immutable)
+     * @param height the referee's height in cm
+     * @param weight the referee's weight in kg
+     * @param experienceYears years of refereeing experience
+     * @param random the random stream used for dispute decisions
+     */
+    public Referee(String birthName, String firstName, LocalDate birthDate,
+                   String placeOfBirth, String nationality, double height,
+                   double weight, int experienceYears, RandomGenerator random) {
         super(birthName, firstName, birthDate, placeOfBirth, nationality, height, weight);
         
         if (experienceYears < 0) {
             throw new IllegalArgumentException("Experience years cannot be negative");
         }
+        if (random == null) {
+            throw new IllegalArgumentException("Random generator cannot be null");
+        }
         
         this.experienceYears = experienceYears;
         // Reputation increases with experience, capped at 1.0
         this.reputation = Math.min(1.0, 0.5 + (experienceYears * 0.05));
         this.matchesOfficiated = 0;
-        this.random = new Random();
+        this.random = random;
+        this.announcer = ConsoleAnnouncer.INSTANCE;
+    }
+    
+    /**
+     * Copy constructor, creates a detached referee with the same identity and
+     * experience but no matches officiated. The copy announces silently.
+     * @param other the referee to copy
+     */
+    public Referee(Referee other) {
+        this(other.getBirthName(), other.getFirstName(), other.getBirthDate(),
+             other.getPlaceOfBirth(), other.getNationality(), other.getHeight(),
+             other.getWeight(), other.experienceYears);
+        this.announcer = SilentAnnouncer.INSTANCE;
     }
     
     // Getters and setters
@@ -50,7 +87,7 @@ public class Referee extends Person {
         return experienceYears;
     }
     
-    public void setExperienceYears(int experienceYears) {
+    public synchronized void setExperienceYears(int experienceYears) {
         if (experienceYears < 0) {
             throw new IllegalArgumentException("Experience years cannot be negative");
         }
@@ -59,18 +96,52 @@ public class Referee extends Person {
         this.reputation = Math.min(1.0, 0.5 + (experienceYears * 0.05));
     }
     
-    public double getReputation() {
+    public synchronized double getReputation() {
         return reputation;
     }
     
-    public int getMatchesOfficiated() {
+    public synchronized int getMatchesOfficiated() {
         return matchesOfficiated;
     }
     
+    public Announcer getAnnouncer() {
+        return announcer;
+    }
+    
+    /**
+     * Sets where this referee's announcements go
+     * @param announcer the announcement sink (console, buffered or silent)
+     */
+    public void setAnnouncer(Announcer announcer) {
+        if (announcer == null) {
+            throw new IllegalArgumentException("Announcer cannot be null");
+        }
+        this.announcer = announcer;
+    }
+    
     /**
-     * Increments the number of matches officiated
+     * Checks if announcements are wanted, callers use this to skip building messages
+     * @return true if the announcer is enabled
      */
-    public void recordMatchOfficiated() {
+    public boolean isAnnouncing() {
+        return announcer.isEnabled();
+    }
+    
+    /**
+     * Restores the record saved in a TournamentSnapshot
+     * @param matchesOfficiated matches officiated so far
+     * @param reputation reputation reached so far
+     */
+    synchronized void restoreRecord(int matchesOfficiated, double reputation) {
+        this.matchesOfficiated = matchesOfficiated;
+        this.reputation = reputation;
+    }
+    
+    /**
+     * Increments the number of matches officiated.
+     * Synchronized because one referee may officiate several parallel matches.
+     */
+    public synchronized void recordMatchOfficiated() {
         this.matchesOfficiated++;
         // Slightly improve reputation with each match
         this.reputation = Math.min(1.0, this.reputation + 0.001);
@@ -85,24 +156,28 @@ public class Referee extends Person {
      */
     public void announceScore(String player1Name, int player1Score, 
                              String player2Name, int player2Score) {
+        if (!announcer.isEnabled()) {
+            return;
+        }
+        
         String score1 = convertScore(player1Score);
         String score2 = convertScore(player2Score);
         
         // Handle deuce and advantage
         if (player1Score >= 3 && player2Score >= 3) {
             if (player1Score == player2Score) {
-                System.out.println("Deuce!");
+                announcer.println("Deuce!");
                 return;
             } else if (player1Score > player2Score) {
-                System.out.println("Advantage " + player1Name);
+                announcer.println("Advantage " + player1Name);
                 return;
             } else {
-                System.out.println("Advantage " + player2Name);
+                announcer.println("Advantage " + player2Name);
                 return;
             }
         }
         
-        System.out.println(score1 + " - " + score2);
+        announcer.println(score1 + " - " + score2);
     }
     
     /**
@@ -125,32 +200,50 @@ public class Referee extends Person {
      */
     
     public void announceGameWinner(String playerName) {
-        System.out.println("Game, " + playerName + "!");
+        if (!announcer.isEnabled()) {
+            return;
+        }
+        announcer.println("Game, " + playerName + "!");
     }
     
    
     public void announceSetWinner(String playerName, int player1Games, int player2Games) {
-        System.out.println("Set, " + playerName + "! (" + player1Games + "-" + player2Games + ")");
+        if (!announcer.isEnabled()) {
+            return;
+        }
+        announcer.println("Set, " + playerName + "! (" + player1Games + "-" + player2Games + ")");
     }
     
     
     public void announceMatchWinner(String playerName) {
-        System.out.println("\n*** MATCH WON BY " + playerName.toUpperCase() + " ***\n");
+        if (!announcer.isEnabled()) {
+            return;
+        }
+        announcer.println("\n*** MATCH WON BY " + playerName.toUpperCase() + " ***\n");
     }
     
     
     public void announceFault(String faultType) {
-        System.out.println("Fault! (" + faultType + ")");
+        if (!announcer.isEnabled()) {
+            return;
+        }
+        announcer.println("Fault! (" + faultType + ")");
     }
     
     
     public void announceDoubleFault(String playerName) {
-        System.out.println("Double Fault! Point to opponent.");
+        if (!announcer.isEnabled()) {
+            return;
+        }
+        announcer.println("Double Fault! Point to opponent.");
     }
     
     
     public void announceAce() {
-        System.out.println("Ace!");
+        if (!announcer.isEnabled()) {
+            return;
+        }
+        announcer.println("Ace!");
     }
     
    
@@ -165,12 +258,18 @@ public class Referee extends Person {
     
     
     public void announceOut() {
-        System.out.println("Out!");
+        if (!announcer.isEnabled()) {
+            return;
+        }
+        announcer.println("Out!");
     }
     
     
     public void announceIn() {
-        System.out.println("In!");
+        if (!announcer.isEnabled()) {
+            return;
+        }
+        announcer.println("In!");
     }
     
     /**
@@ -186,10 +285,13 @@ public class Referee extends Person {
         
         boolean accepted = decision < acceptanceThreshold;
         
+        if (!announcer.isEnabled()) {
+            return accepted;
+        }
         if (accepted) {
-            System.out.println("After review, the call is overturned. Point to " + playerName + ".");
+            announcer.println("After review, the call is overturned. Point to " + playerName + ".");
         } else {
-            System.out.println("The call stands. Play continues.");
+            announcer.println("The call stands. Play continues.");
         }
         
         return accepted;
@@ -202,7 +304,10 @@ public class Referee extends Person {
      * @param reason
      */
     public void issueWarning(String playerName, String reason) {
-        System.out.println("WARNING to " + playerName + ": " + reason);
+        if (!announcer.isEnabled()) {
+            return;
+        }
+        announcer.println("WARNING to " + playerName + ": " + reason);
     }
     
     /**
@@ -211,17 +316,26 @@ public class Referee extends Person {
      * @param reason
      */
     public void issuePointPenalty(String playerName, String reason) {
-        System.out.println("POINT PENALTY to " + playerName + ": " + reason);
+        if (!announcer.isEnabled()) {
+            return;
+        }
+        announcer.println("POINT PENALTY to " + playerName + ": " + reason);
     }
     
    
     public void issueGamePenalty(String playerName, String reason) {
-        System.out.println("GAME PENALTY to " + playerName + ": " + reason);
+        if (!announcer.isEnabled()) {
+            return;
+        }
+        announcer.println("GAME PENALTY to " + playerName + ": " + reason);
     }
     
     
     public void callForSilence() {
-        System.out.println("Quiet please!");
+        if (!announcer.isEnabled()) {
+            return;
+        }
+        announcer.println("Quiet please!");
     }
     
     /**
@@ -230,10 +344,13 @@ public class Referee extends Person {
      * @param player2
      */
     public void announceMatchStart(String player1, String player2) {
-        System.out.println("\n========================================");
-        System.out.println("Match: " + player1 + " vs " + player2);
-        System.out.println("Referee: " + getFullName());
-        System.out.println("========================================\n");
+        if (!announcer.isEnabled()) {
+            return;
+        }
+        announcer.println("\n========================================");
+        announcer.println("Match: " + player1 + " vs " + player2);
+        announcer.println("Referee: " + getFullName());
+        announcer.println("========================================\n");
     }
     
     /**
@@ -241,7 +358,10 @@ public class Referee extends Person {
      * @param playerName
      */
     public void announceServer(String playerName) {
-        System.out.println(playerName + " to serve.");
+        if (!announcer.isEnabled()) {
+            return;
+        }
+        announcer.println(playerName + " to serve.");
     }
     
     /**
@@ -249,7 +369,10 @@ public class Referee extends Person {
      * @param message
      */
     public void announce(String message) {
-        System.out.println("[Referee] " + message);
+        if (!announcer.isEnabled()) {
+            return;
+        }
+        announcer.println("[Referee] " + message);
     }
     
     @Override
@@ -0,0 +1,418 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams the results of completed matches to a compressed file, one
+ * record per match as soon as it is over: players, winner, the games of
+ * every set, who won each game (with the points of tiebreaks), and the
+ * aces and double faults of both players in that match.
+ *
+ * Records are collected in a chunk of about CHUNK_SIZE bytes, and every
+ * full chunk is written as its own gzip member, so the file is a valid gzip
+ * stream (gzip -d reads it) and memory stays bounded by one chunk however
+ * many matches are exported. A tournament with an exporter releases the
+ * sets and games of each match once it is exported (Match.releaseDetail()).
+ *
+ * Record layout (big-endian, after the magic and version at the start):
+ * <pre>
+ *   level, player 1, player 2     modified UTF-8 strings
+ *   category, winner (1 or 2)     bytes
+ *   aces, double faults           shorts, player 1 then player 2, -1 if unknown
+ *   set count                     byte, then per set the games of both players
+ *   game detail                   byte, 1 if present: per set the game count,
+ *                                 then one byte per game (bit 0: won by player
+ *                                 2, bit 1: tiebreak, followed by its points)
+ * </pre>
+ * Matches played by MatchKernel have no game detail and no double faults.
+ */
+public class ResultExporter implements AutoCloseable {
+
+    public static final int CHUNK_SIZE = 64 * 1024;
+
+    private static final int MAGIC = 0x54524558;  // "TREX"
+    private static final short VERSION = 1;
+    private static final int UNKNOWN = -1;
+
+    private final OutputStream file;
+    private final ByteArrayOutputStream chunk;
+    private final DataOutputStream records;
+    private long matchesExported;
+    private boolean closed;
+
+    /**
+     * Constructor for ResultExporter
+     * @param path the output file, replaced if it exists
+     * @throws IOException if the file cannot be created
+     */
+    public ResultExporter(Path path) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+        this.file = new BufferedOutputStream(Files.newOutputStream(path));
+        this.chunk = new ByteArrayOutputStream(CHUNK_SIZE + CHUNK_SIZE / 4);
+        this.records = new DataOutputStream(chunk);
+        this.matchesExported = 0;
+        this.closed = false;
+        records.writeInt(MAGIC);
+        records.writeShort(VERSION);
+    }
+
+    /**
+     * Creates the listener that counts a match's aces and double faults and
+     * exports the match when it completes. Add it to the match before it starts.
+     * @param match the match to export
+     * @return a new listener for that match only
+     */
+    public MatchListener recorder(Match match) {
+        if (match == null) {
+            throw new IllegalArgumentException("Match cannot be null");
+        }
+        return new Recorder(match);
+    }
+
+    /**
+     * Exports a completed match without point counts, e.g. one played by
+     * MatchKernel (whose aces are known)
+     * @param match a completed match
+     */
+    public void export(Match match) {
+        long result = match.getKernelResult();
+        if (result != 0) {
+            export(match, MatchKernel.getPlayer1Aces(result), MatchKernel.getPlayer2Aces(result),
+                   UNKNOWN, UNKNOWN);
+        } else {
+            export(match, UNKNOWN, UNKNOWN, UNKNOWN, UNKNOWN);
+        }
+    }
+
+    private synchronized void export(Match match, int aces1, int aces2,
+                                     int doubleFaults1, int doubleFaults2) {
+        if (!match.isComplete()) {
+            throw new IllegalStateException("Only completed matches can be exported");
+        }
+        if (closed) {
+            throw new IllegalStateException("Exporter is closed");
+        }
+
+        try {
+            records.writeUTF(match.getLevel());
+            records.writeUTF(match.getPlayer1().getFullName());
+            records.writeUTF(match.getPlayer2().getFullName());
+            records.writeByte(match.getCategory().ordinal());
+            records.writeByte(match.getWinner() == match.getPlayer1() ? 1 : 2);
+            records.writeShort(aces1);
+            records.writeShort(aces2);
+            records.writeShort(doubleFaults1);
+            records.writeShort(doubleFaults2);
+
+            int setCount = match.getSetCount();
+            records.writeByte(setCount);
+            for (int set = 0; set < setCount; set++) {
+                records.writeByte(match.getPlayer1Games(set));
+                records.writeByte(match.getPlayer2Games(set));
+            }
+
+            List<Set> sets = match.getSets();
+            records.writeByte(sets.isEmpty() ? 0 : 1);
+            for (Set set : sets) {
+                List<Game> games = set.getGames();
+                records.writeByte(games.size());
+                for (Game game : games) {
+                    int flags = (game.getWinner() == match.getPlayer1()) ? 0 : 1;
+                    if (game.isTiebreak()) {
+                        records.writeByte(flags | 2);
+                        records.writeByte(game.getPlayer1Points());
+                        records.writeByte(game.getPlayer2Points());
+                    } else {
+                        records.writeByte(flags);
+                    }
+                }
+            }
+
+            matchesExported++;
+            if (chunk.size() >= CHUNK_SIZE) {
+                writeChunk();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Export failed", e);
+        }
+    }
+
+    /**
+     * Compresses the collected records into one gzip member of the file
+     */
+    private void writeChunk() throws IOException {
+        // Closing the gzip stream frees its deflater but must not close the file
+        OutputStream member = new FilterOutputStream(file) {
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+        try (GZIPOutputStream gzip = new GZIPOutputStream(member, 8192)) {
+            chunk.writeTo(gzip);
+        }
+        chunk.reset();
+    }
+
+    public synchronized long getMatchesExported() {
+        return matchesExported;
+    }
+
+    /**
+     * Writes the last chunk and closes the file
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (chunk.size() > 0) {
+                writeChunk();
+            }
+        } finally {
+            file.close();
+        }
+    }
+
+    /**
+     * Counts the aces and double faults of one match and exports it when it
+     * completes. Used only by the thread playing its match.
+     */
+    private class Recorder implements MatchListener {
+
+        private final Match match;
+        private int aces1;
+        private int aces2;
+        private int doubleFaults1;
+        private int doubleFaults2;
+
+        private Recorder(Match match) {
+            this.match = match;
+        }
+
+        @Override
+        public void onPoint(Rally rally, boolean serverWon) {
+            boolean player1Serving = rally.getServer() == match.getPlayer1();
+            if (rally.isAce()) {
+                if (player1Serving) {
+                    aces1++;
+                } else {
+                    aces2++;
+                }
+            } else if (rally.isDoubleFault()) {
+                if (player1Serving) {
+                    doubleFaults1++;
+                } else {
+                    doubleFaults2++;
+                }
+            }
+        }
+
+        @Override
+        public void onMatchComplete(Match match) {
+            export(match, aces1, aces2, doubleFaults1, doubleFaults2);
+        }
+    }
+
+    /**
+     * Opens an exported file for reading
+     * @param path the exported file
+     * @return a reader positioned before the first match
+     * @throws IOException if the file cannot be read or is not an export
+     */
+    public static Reader read(Path path) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+        DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(path), 8192)));
+        if (in.readInt() != MAGIC) {
+            in.close();
+            throw new IllegalArgumentException("Not a result export: " + path);
+        }
+        short version = in.readShort();
+        if (version != VERSION) {
+            in.close();
+            throw new IllegalArgumentException("Unsupported export version: " + version);
+        }
+        return new Reader(in);
+    }
+
+    /**
+     * Reads the exported matches one after another, one match in memory at a time
+     */
+    public static class Reader implements AutoCloseable {
+
+        private static final Match.Category[] CATEGORIES = Match.Category.values();
+
+        private final DataInputStream in;
+        private String level;
+        private String player1;
+        private String player2;
+        private Match.Category category;
+        private int winner;
+        private final int[] aces = new int[2];
+        private final int[] doubleFaults = new int[2];
+        private int setCount;
+        private final int[][] setGames = new int[2][5];
+        private byte[][] games;  // Per set the game bytes, tiebreak points included; null if absent
+
+        private Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        /**
+         * Moves to the next match
+         * @return false once there are no more matches
+         * @throws IOException if the file cannot be read
+         */
+        public boolean next() throws IOException {
+            try {
+                level = in.readUTF();
+            } catch (EOFException e) {
+                return false;
+            }
+            player1 = in.readUTF();
+            player2 = in.readUTF();
+            category = CATEGORIES[in.readByte()];
+            winner = in.readByte();
+            aces[0] = in.readShort();
+            aces[1] = in.readShort();
+            doubleFaults[0] = in.readShort();
+            doubleFaults[1] = in.readShort();
+
+            setCount = in.readUnsignedByte();
+            for (int set = 0; set < setCount; set++) {
+                setGames[0][set] = in.readUnsignedByte();
+                setGames[1][set] = in.readUnsignedByte();
+            }
+
+            games = null;
+            if (in.readByte() == 1) {
+                games = new byte[setCount][];
+                for (int set = 0; set < setCount; set++) {
+                    int count = in.readUnsignedByte();
+                    byte[] detail = new byte[3 * count];
+                    int length = 0;
+                    for (int game = 0; game < count; game++) {
+                        byte flags = in.readByte();
+                        detail[length++] = flags;
+                        if ((flags & 2) != 0) {
+                            detail[length++] = in.readByte();
+                            detail[length++] = in.readByte();
+                        }
+                    }
+                    games[set] = Arrays.copyOf(detail, length);
+                }
+            }
+            return true;
+        }
+
+        public String getLevel() {
+            return level;
+        }
+
+        public String getPlayer1Name() {
+            return player1;
+        }
+
+        public String getPlayer2Name() {
+            return player2;
+        }
+
+        public Match.Category getCategory() {
+            return category;
+        }
+
+        /**
+         * Gets the winner of the match
+         * @return 1 for player 1, 2 for player 2
+         */
+        public int getWinner() {
+            return winner;
+        }
+
+        /**
+         * Gets the aces of a player in this match
+         * @param player 1 or 2
+         * @return the aces, -1 if unknown
+         */
+        public int getAces(int player) {
+            return aces[player - 1];
+        }
+
+        /**
+         * Gets the double faults of a player in this match
+         * @param player 1 or 2
+         * @return the double faults, -1 if unknown (matches played by MatchKernel)
+         */
+        public int getDoubleFaults(int player) {
+            return doubleFaults[player - 1];
+        }
+
+        public int getSetCount() {
+            return setCount;
+        }
+
+        public int getPlayer1Games(int set) {
+            return setGames[0][set];
+        }
+
+        public int getPlayer2Games(int set) {
+            return setGames[1][set];
+        }
+
+        public boolean hasGameDetail() {
+            return games != null;
+        }
+
+        /**
+         * Gets who won each game of a set, in order
+         * @param set index of the set
+         * @return per game 1 or 2, negated for a tiebreak
+         */
+        public int[] getGameWinners(int set) {
+            byte[] detail = games[set];
+            int[] winners = new int[detail.length];
+            int game = 0;
+            for (int i = 0; i < detail.length; i++) {
+                int gameWinner = 1 + (detail[i] & 1);
+                if ((detail[i] & 2) != 0) {
+                    gameWinner = -gameWinner;
+                    i += 2;
+                }
+                winners[game++] = gameWinner;
+            }
+            return Arrays.copyOf(winners, game);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
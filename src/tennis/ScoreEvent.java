@@ -0,0 +1,145 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+/**
+ * One slot of the ScoreEventBus ring: a point, game, set or match just
+ * scored, with the same fields as an EventJournal record plus the
+ * intensity of the rally.
+ * Slots are reused as the ring wraps, so a handler must copy what it
+ * keeps before returning from onEvent(). Handlers subscribed with
+ * ScoreEventBus.Overflow.DROP get a copy of the slot instead, equally reused.
+ */
+public class ScoreEvent {
+
+    private EventJournal.Type type;
+    private Match match;
+    private int matchId;
+    private int sequence;
+    private int winner;
+    private int player1Score;
+    private int player2Score;
+    private int detail;
+    private double intensity;
+
+    /**
+     * Constructor for an empty slot, filled by the bus
+     */
+    ScoreEvent() {
+        this.type = null;
+        this.match = null;
+        this.matchId = 0;
+        this.sequence = 0;
+        this.winner = 0;
+        this.player1Score = 0;
+        this.player2Score = 0;
+        this.detail = 0;
+        this.intensity = 0;
+    }
+
+    void set(EventJournal.Type type, Match match, int matchId, int sequence, int winner,
+             int player1Score, int player2Score, int detail, double intensity) {
+        this.type = type;
+        this.match = match;
+        this.matchId = matchId;
+        this.sequence = sequence;
+        this.winner = winner;
+        this.player1Score = player1Score;
+        this.player2Score = player2Score;
+        this.detail = detail;
+        this.intensity = intensity;
+    }
+
+    void copyFrom(ScoreEvent other) {
+        set(other.type, other.match, other.matchId, other.sequence, other.winner,
+            other.player1Score, other.player2Score, other.detail, other.intensity);
+    }
+
+    /**
+     * Gets the type of the event
+     * @return POINT, ACE, DOUBLE_FAULT, GAME, SET, MATCH or ROUND_ADVANCED
+     */
+    public EventJournal.Type getType() {
+        return type;
+    }
+
+    /**
+     * Checks if the event is a point (including aces and double faults)
+     * @return true for POINT, ACE and DOUBLE_FAULT
+     */
+    public boolean isPoint() {
+        return type == EventJournal.Type.POINT || type == EventJournal.Type.ACE
+               || type == EventJournal.Type.DOUBLE_FAULT;
+    }
+
+    /**
+     * Gets the match the event belongs to, which may still be playing
+     * @return the match, null for round events
+     */
+    public Match getMatch() {
+        return match;
+    }
+
+    /**
+     * Gets the id of the match
+     * @return the id, -1 for round events
+     */
+    public int getMatchId() {
+        return matchId;
+    }
+
+    /**
+     * Gets the number of the event within its match
+     * @return 0 for the first event of the match
+     */
+    public int getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets who won the point, game, set or match
+     * @return 1 for player 1, 2 for player 2, 0 for round events
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * Gets the score of player 1 after the event: game points for points,
+     * games of the set for games, sets for sets and matches
+     * @return the score
+     */
+    public int getPlayer1Score() {
+        return player1Score;
+    }
+
+    public int getPlayer2Score() {
+        return player2Score;
+    }
+
+    /**
+     * Gets the detail of the event, as in EventJournal: shot count for
+     * points, set number for games and sets, sets played for matches,
+     * index of the new round for round events
+     * @return the detail
+     */
+    public int getDetail() {
+        return detail;
+    }
+
+    /**
+     * Gets how exciting the rally was (Rally.getIntensity())
+     * @return 0.0 to 1.0 for points, 0 for other events
+     */
+    public double getIntensity() {
+        return intensity;
+    }
+
+    @Override
+    public String toString() {
+        return "ScoreEvent [" + type + " match " + matchId + " #" + sequence + ", winner " + winner
+               + ", " + player1Score + "-" + player2Score + "]";
+    }
+}
@@ -0,0 +1,458 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+import java.lang.invoke.VarHandle;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Live score events, from the thread playing the matches to any number of
+ * consumers, through a ring buffer in the style of the LMAX Disruptor.
+ *
+ * One thread publishes (a Publisher per match, added as its MatchListener,
+ * so every rally of the Game loop is published as it is scored): it fills
+ * the next preallocated ScoreEvent slot and makes it visible by advancing
+ * the cursor, without locks or allocation. Each subscribed ScoreEventHandler
+ * runs on its own thread, follows the cursor with its own sequence and
+ * handles all available events as one batch.
+ *
+ * What happens when a consumer falls a whole ring behind is chosen per
+ * subscription (Overflow):
+ * <ul>
+ *   <li>BLOCK: the publisher waits for the consumer to free a slot, so the
+ *       consumer sees every event but may slow the matches down. For
+ *       consumers that must not lose anything, e.g. EventJournal.subscriber().</li>
+ *   <li>DROP: the publisher never waits for the consumer, it overwrites the
+ *       events the consumer has not handled yet. The consumer notices (each
+ *       slot carries its sequence), skips to the oldest event still in the
+ *       ring and counts the ones it missed (Subscription.getDroppedCount()).
+ *       For consumers that only follow the play, e.g. CrowdReaction.</li>
+ * </ul>
+ * A bigger ring absorbs longer stalls either way. Idle consumers and a
+ * waiting publisher spin briefly, then yield, then park for PARK_NANOS, so
+ * nobody ever has to wake them.
+ */
+public class ScoreEventBus implements AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+    public static final int DEFAULT_MAX_BATCH = 1024;
+
+    /**
+     * What the bus does when a consumer is a whole ring behind
+     */
+    public enum Overflow {
+        BLOCK, DROP
+    }
+
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final int SPINS = 100;
+    private static final int YIELDS = 10;
+
+    private final ScoreEvent[] ring;
+    private final AtomicLongArray slotSequences;       // Sequence held by each slot, -1 while written
+    private final int mask;
+    private final AtomicLong cursor;                   // Last published sequence
+    private final List<Subscription> subscriptions;
+    private long nextSequence;                         // Publisher only
+    private long cachedGate;                           // Publisher only: slowest BLOCK consumer seen last
+    private volatile boolean closed;
+
+    /**
+     * Constructor for a bus of DEFAULT_CAPACITY events
+     */
+    public ScoreEventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor for ScoreEventBus
+     * @param capacity number of events the ring holds, a power of two
+     */
+    public ScoreEventBus(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.ring = new ScoreEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            ring[i] = new ScoreEvent();
+        }
+        this.slotSequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slotSequences.set(i, i - capacity);
+        }
+        this.mask = capacity - 1;
+        this.cursor = new AtomicLong(-1);
+        this.subscriptions = new CopyOnWriteArrayList<>();
+        this.nextSequence = 0;
+        this.cachedGate = -1;
+        this.closed = false;
+    }
+
+    /**
+     * Subscribes a handler that may miss events (Overflow.DROP), with
+     * batches of up to DEFAULT_MAX_BATCH events
+     * @param name name of the consumer, used for its thread
+     * @param handler the consumer
+     * @return the subscription
+     */
+    public Subscription subscribe(String name, ScoreEventHandler handler) {
+        return subscribe(name, handler, Overflow.DROP);
+    }
+
+    /**
+     * Subscribes a handler with batches of up to DEFAULT_MAX_BATCH events
+     * @param name name of the consumer, used for its thread
+     * @param handler the consumer
+     * @param overflow BLOCK to make the publisher wait for the consumer,
+     *                 DROP to let the consumer miss events instead
+     * @return the subscription
+     */
+    public Subscription subscribe(String name, ScoreEventHandler handler, Overflow overflow) {
+        return subscribe(name, handler, overflow, DEFAULT_MAX_BATCH);
+    }
+
+    /**
+     * Subscribes a handler and starts its thread. The handler sees the
+     * events published from now on.
+     * @param name name of the consumer, used for its thread
+     * @param handler the consumer
+     * @param overflow BLOCK to make the publisher wait for the consumer,
+     *                 DROP to let the consumer miss events instead
+     * @param maxBatch most events handled before the consumer's sequence is
+     *                 advanced, which frees their slots for the publisher
+     * @return the subscription
+     */
+    public Subscription subscribe(String name, ScoreEventHandler handler, Overflow overflow,
+                                  int maxBatch) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Name cannot be empty");
+        }
+        if (handler == null) {
+            throw new IllegalArgumentException("Handler cannot be null");
+        }
+        if (overflow == null) {
+            throw new IllegalArgumentException("Overflow cannot be null");
+        }
+        if (maxBatch < 1) {
+            throw new IllegalArgumentException("Batches need at least one event");
+        }
+        if (closed) {
+            throw new IllegalStateException("Bus is closed");
+        }
+        Subscription subscription = new Subscription(name, handler, overflow, maxBatch, cursor.get());
+        subscriptions.add(subscription);
+        subscription.thread.start();
+        return subscription;
+    }
+
+    /**
+     * Creates the listener publishing the events of a match.
+     * Add it to the match with match.addListener() before the match starts.
+     * @param match the match to publish
+     * @param matchId the id published with the match's events
+     * @return a new publisher
+     */
+    public Publisher publisher(Match match, int matchId) {
+        if (match == null) {
+            throw new IllegalArgumentException("Match cannot be null");
+        }
+        return new Publisher(match, matchId);
+    }
+
+    /**
+     * Publishes that the tournament advanced to a new round
+     * @param roundIndex index of the round the tournament advanced to
+     */
+    public void publishRoundAdvanced(int roundIndex) {
+        publish(EventJournal.Type.ROUND_ADVANCED, null, -1, 0, 0, 0, 0, roundIndex, 0);
+    }
+
+    /**
+     * Publishes one event, first waiting for any BLOCK consumer a ring behind.
+     * Only one thread may publish at a time.
+     */
+    void publish(EventJournal.Type type, Match match, int matchId, int sequence, int winner,
+                 int player1Score, int player2Score, int detail, double intensity) {
+        if (closed) {
+            throw new IllegalStateException("Bus is closed");
+        }
+        long next = nextSequence;
+        long wrapPoint = next - ring.length;
+        if (wrapPoint > cachedGate) {
+            // The slot still holds an event a BLOCK consumer may not have handled
+            long gate = slowestBlockingSequence(next - 1);
+            for (int idle = 0; wrapPoint > gate; idle = backOff(idle)) {
+                gate = slowestBlockingSequence(next - 1);
+            }
+            cachedGate = gate;
+        }
+
+        // The slot's sequence brackets the write, so a DROP consumer reading
+        // the slot meanwhile sees that it was overwritten
+        int slot = (int) next & mask;
+        slotSequences.setOpaque(slot, -1);
+        VarHandle.storeStoreFence();
+        ring[slot].set(type, match, matchId, sequence, winner,
+                       player1Score, player2Score, detail, intensity);
+        slotSequences.setRelease(slot, next);
+        nextSequence = next + 1;
+        cursor.setRelease(next);
+    }
+
+    private long slowestBlockingSequence(long minimum) {
+        long slowest = minimum;
+        for (Subscription subscription : subscriptions) {
+            if (subscription.overflow == Overflow.BLOCK) {
+                slowest = Math.min(slowest, subscription.sequence.getAcquire());
+            }
+        }
+        return slowest;
+    }
+
+    /**
+     * Waits a little longer each time something is still not ready
+     * @param idle the number of times it was not ready so far
+     * @return the number of times, this one included
+     */
+    private static int backOff(int idle) {
+        if (idle < SPINS) {
+            Thread.onSpinWait();
+        } else if (idle < SPINS + YIELDS) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+            return idle;
+        }
+        return idle + 1;
+    }
+
+    /**
+     * Gets the number of events published so far
+     * @return the published events
+     */
+    public long getPublishedCount() {
+        return cursor.get() + 1;
+    }
+
+    /**
+     * Gets the number of events missed by DROP consumers a ring behind,
+     * counted once for each consumer that missed them
+     * @return the dropped events of all subscriptions
+     */
+    public long getDroppedCount() {
+        long total = 0;
+        for (Subscription subscription : subscriptions) {
+            total += subscription.getDroppedCount();
+        }
+        return total;
+    }
+
+    public int getCapacity() {
+        return ring.length;
+    }
+
+    public List<Subscription> getSubscriptions() {
+        return List.copyOf(subscriptions);
+    }
+
+    /**
+     * Stops publishing, lets every consumer handle the events already
+     * published and waits for their threads to end
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (Subscription subscription : subscriptions) {
+            LockSupport.unpark(subscription.thread);
+        }
+        try {
+            for (Subscription subscription : subscriptions) {
+                subscription.thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A consumer of the bus and the thread running it
+     */
+    public class Subscription {
+
+        private final String name;
+        private final ScoreEventHandler handler;
+        private final Overflow overflow;
+        private final int maxBatch;
+        private final ScoreEvent copy;       // DROP only: the event being handled
+        private final AtomicLong sequence;   // Last handled sequence
+        private final AtomicLong failures;
+        private final AtomicLong dropped;
+        private final Thread thread;
+
+        private Subscription(String name, ScoreEventHandler handler, Overflow overflow, int maxBatch,
+                             long start) {
+            this.name = name;
+            this.handler = handler;
+            this.overflow = overflow;
+            this.maxBatch = maxBatch;
+            this.copy = (overflow == Overflow.DROP) ? new ScoreEvent() : null;
+            this.sequence = new AtomicLong(start);
+            this.failures = new AtomicLong();
+            this.dropped = new AtomicLong();
+            this.thread = new Thread(this::run, "score-bus-" + name);
+            thread.setDaemon(true);
+        }
+
+        private void run() {
+            long next = sequence.get() + 1;
+            int idle = 0;
+            while (true) {
+                boolean closing = closed;
+                long available = cursor.getAcquire();
+                if (available >= next) {
+                    long end = Math.min(available, next + maxBatch - 1);
+                    long s = next;
+                    while (s <= end) {
+                        ScoreEvent event = read(s);
+                        if (event == null) {
+                            // Overwritten: skip to the oldest event still in the ring
+                            long oldest = Math.max(s + 1, cursor.getAcquire() - mask);
+                            dropped.addAndGet(oldest - s);
+                            s = oldest;
+                            break;
+                        }
+                        try {
+                            handler.onEvent(event, s, s == end);
+                        } catch (RuntimeException e) {
+                            // One bad event must not stop the consumer, nor the publisher
+                            failures.incrementAndGet();
+                        }
+                        s++;
+                    }
+                    sequence.setRelease(s - 1);
+                    next = s;
+                    idle = 0;
+                } else if (closing) {
+                    return;
+                } else {
+                    idle = backOff(idle);
+                }
+            }
+        }
+
+        /**
+         * Gets a published event: the slot itself for BLOCK, which the
+         * publisher does not overwrite, and a copy of it for DROP
+         * @return the event, null if the publisher has overwritten it
+         */
+        private ScoreEvent read(long s) {
+            int slot = (int) s & mask;
+            if (overflow == Overflow.BLOCK) {
+                return ring[slot];
+            }
+            if (slotSequences.getAcquire(slot) != s) {
+                return null;
+            }
+            copy.copyFrom(ring[slot]);
+            VarHandle.loadLoadFence();
+            return (slotSequences.getOpaque(slot) == s) ? copy : null;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Overflow getOverflow() {
+            return overflow;
+        }
+
+        /**
+         * Gets how far behind the publisher this consumer is
+         * @return events published but not yet handled
+         */
+        public long getLag() {
+            return cursor.get() - sequence.get();
+        }
+
+        /**
+         * Gets the number of events whose handler threw an exception
+         * @return the failed events
+         */
+        public long getFailureCount() {
+            return failures.get();
+        }
+
+        /**
+         * Gets the number of events this consumer missed by falling a ring
+         * behind, always 0 for BLOCK
+         * @return the dropped events
+         */
+        public long getDroppedCount() {
+            return dropped.get();
+        }
+    }
+
+    /**
+     * Publishes the points, games, sets and result of one match, on the
+     * thread playing it
+     */
+    public class Publisher implements MatchListener {
+
+        private final Match match;
+        private final int matchId;
+        private int sequence;
+        private int setNumber;
+
+        private Publisher(Match match, int matchId) {
+            this.match = match;
+            this.matchId = matchId;
+            this.sequence = 0;
+            this.setNumber = 0;
+        }
+
+        @Override
+        public void onPoint(Rally rally, boolean serverWon) {
+            EventJournal.Type type = rally.isAce() ? EventJournal.Type.ACE
+                                   : rally.isDoubleFault() ? EventJournal.Type.DOUBLE_FAULT
+                                   : EventJournal.Type.POINT;
+            // Rally.getWinner() is only known for aces and double faults
+            Player winner = serverWon ? rally.getServer() : rally.getReceiver();
+            publish(type, match, matchId, sequence++, side(winner),
+                    match.getPlayer1Points(), match.getPlayer2Points(), rally.getShotCount(),
+                    rally.getIntensity());
+        }
+
+        @Override
+        public void onGameComplete(Set set, Game game) {
+            publish(EventJournal.Type.GAME, match, matchId, sequence++, side(game.getWinner()),
+                    set.getPlayer1Games(), set.getPlayer2Games(), setNumber, 0);
+        }
+
+        @Override
+        public void onSetComplete(Match match, Set set) {
+            publish(EventJournal.Type.SET, match, matchId, sequence++, side(set.getWinner()),
+                    match.getPlayer1Sets(), match.getPlayer2Sets(), setNumber++, 0);
+        }
+
+        @Override
+        public void onMatchComplete(Match match) {
+            publish(EventJournal.Type.MATCH, match, matchId, sequence++, side(match.getWinner()),
+                    match.getPlayer1Sets(), match.getPlayer2Sets(),
+                    match.getPlayer1Sets() + match.getPlayer2Sets(), 0);
+        }
+
+        private int side(Player player) {
+            return (player == match.getPlayer1()) ? 1 : 2;
+        }
+    }
+}
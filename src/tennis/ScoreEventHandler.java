@@ -0,0 +1,25 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package tennis;
+
+/**
+ * Consumer of a ScoreEventBus.
+ * Each subscribed handler runs on its own thread and sees the events
+ * published after it subscribed, in order, in batches of the events
+ * available when it catches up. A handler subscribed with
+ * ScoreEventBus.Overflow.BLOCK sees every one of them; with DROP it misses
+ * those overwritten while it was a ring behind.
+ */
+public interface ScoreEventHandler {
+
+    /**
+     * Called for every event
+     * @param event the event, only valid until this call returns
+     * @param sequence the position of the event on the bus
+     * @param endOfBatch true for the last event available for now, a good
+     *                   time to flush what the handler has collected
+     */
+    void onEvent(ScoreEvent event, long sequence, boolean endOfBatch);
+}
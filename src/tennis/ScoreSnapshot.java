@@ -0,0 +1,78 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package tennis;
+
+/**
+ * Read-only view of the score of a match, for scoreboards and summaries.
+ * Every value is read from counters kept up to date as the match is played,
+ * so each call takes constant time and allocates nothing. The view may be
+ * polled from another thread while the match is running; each value is then
+ * current on its own, e.g. the games of a finished game may be seen a moment
+ * before its points are reset.
+ */
+public interface ScoreSnapshot {
+
+    /**
+     * Gets the number of sets won by player 1
+     * @return sets won
+     */
+    int getPlayer1Sets();
+
+    /**
+     * Gets the number of sets won by player 2
+     * @return sets won
+     */
+    int getPlayer2Sets();
+
+    /**
+     * Gets the number of sets started so far, the set being played included
+     * @return the set count
+     */
+    int getSetCount();
+
+    /**
+     * Gets the games won by player 1 in a set
+     * @param set index of the set, from 0 to getSetCount() - 1
+     * @return games won in that set
+     */
+    int getPlayer1Games(int set);
+
+    /**
+     * Gets the games won by player 2 in a set
+     * @param set index of the set, from 0 to getSetCount() - 1
+     * @return games won in that set
+     */
+    int getPlayer2Games(int set);
+
+    /**
+     * Gets the points won by player 1 in the game being played
+     * @return points (0, 1, 2, ... not 15, 30, 40), 0 between games
+     */
+    int getPlayer1Points();
+
+    /**
+     * Gets the points won by player 2 in the game being played
+     * @return points (0, 1, 2, ... not 15, 30, 40), 0 between games
+     */
+    int getPlayer2Points();
+
+    /**
+     * Checks if the game being played is a tiebreak
+     * @return true during a tiebreak
+     */
+    boolean isTiebreak();
+
+    /**
+     * Gets the player serving the next point
+     * @return the server, or null once the match is complete
+     */
+    Player getServer();
+
+    /**
+     * Checks if the match has finished
+     * @return true if complete
+     */
+    boolean isComplete();
+}
@@ -0,0 +1,297 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Simulates many seasons of the four Grand Slams.
+ * A season is one year: its field is generated at the first slam and
+ * plays all four in calendar order (by start month), carrying rankings
+ * and statistics from one to the next, and growing older (ages are taken
+ * on the first day of each tournament's start month). Seasons run up to
+ * 2024, the last year generated players are born relative to, so a
+ * 50-year run is for example 1975 to 2024.
+ *
+ * Seasons share no mutable state, so they run in parallel on the
+ * executor when one is set. Each season streams one CSV line per
+ * tournament to its own file (season-YEAR.csv) as soon as the tournament
+ * is over, and only the field is kept from one tournament to the next, so
+ * the heap needed depends on the number of seasons in flight, not on the
+ * number simulated. Crowds are drawn in aggregate.
+ */
+public class SeasonSimulator {
+
+    public static final int REFEREES_PER_TOURNAMENT = 15;
+
+    private static final String HEADER = "year,grand_slam,start_date,"
+            + "mens_champion,mens_champion_age,mens_champion_ranking,mens_runner_up,mens_final_score,"
+            + "womens_champion,womens_champion_age,womens_champion_ranking,womens_runner_up,womens_final_score,"
+            + "matches,spectators,ticket_revenue";
+
+    private final int firstYear;
+    private final int years;
+    private final long seed;
+    private int drawSize;
+    private Tournament.Engine engine;
+    private Executor executor;  // Null plays seasons one after another
+
+    /**
+     * Constructor for SeasonSimulator
+     * @param firstYear the year of the first season
+     * @param years the number of seasons
+     * @param seed the seed all seasons derive from
+     */
+    public SeasonSimulator(int firstYear, int years, long seed) {
+        if (firstYear < 1900 || years < 1 || firstYear + years - 1 > Tournament.LATEST_FIELD_YEAR) {
+            throw new IllegalArgumentException("Seasons must lie between 1900 and "
+                                               + Tournament.LATEST_FIELD_YEAR);
+        }
+        this.firstYear = firstYear;
+        this.years = years;
+        this.seed = seed;
+        this.drawSize = Tournament.DEFAULT_DRAW_SIZE;
+        this.engine = Tournament.Engine.OBJECT;
+        this.executor = null;
+    }
+
+    /**
+     * Gets the Grand Slams in the order they are played in a season
+     * @return the four Grand Slams by start month
+     */
+    public static List<Tournament.GrandSlam> getCalendar() {
+        List<Tournament.GrandSlam> calendar = new ArrayList<>(Arrays.asList(Tournament.GrandSlam.values()));
+        calendar.sort(Comparator.comparingInt(Tournament.GrandSlam::getStartMonth));
+        return calendar;
+    }
+
+    public int getFirstYear() {
+        return firstYear;
+    }
+
+    public int getYears() {
+        return years;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getDrawSize() {
+        return drawSize;
+    }
+
+    /**
+     * Sets the number of players per category of every tournament
+     * @param drawSize from Tournament.MIN_DRAW_SIZE to Tournament.MAX_DRAW_SIZE
+     */
+    public void setDrawSize(int drawSize) {
+        if (drawSize < Tournament.MIN_DRAW_SIZE || drawSize > Tournament.MAX_DRAW_SIZE) {
+            throw new IllegalArgumentException("Invalid draw size: " + drawSize);
+        }
+        this.drawSize = drawSize;
+    }
+
+    public Tournament.Engine getEngine() {
+        return engine;
+    }
+
+    public void setEngine(Tournament.Engine engine) {
+        if (engine == null) {
+            throw new IllegalArgumentException("Engine cannot be null");
+        }
+        this.engine = engine;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Sets the executor seasons run on, null to run them one after another
+     * @param executor e.g. Executors.newFixedThreadPool(threads)
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Simulates every season, writing season-YEAR.csv files to a directory.
+     * The results depend only on the seed, not on the executor.
+     * @param directory the output directory, created if missing
+     * @return the files written, in season order
+     * @throws IOException if a file cannot be written
+     */
+    public List<Path> run(Path directory) throws IOException {
+        if (directory == null) {
+            throw new IllegalArgumentException("Directory cannot be null");
+        }
+        Files.createDirectories(directory);
+
+        // Season seeds are drawn up front, so they do not depend on scheduling
+        SplittableRandom seasonSeeds = new SplittableRandom(seed);
+        long[] seeds = new long[years];
+        List<Path> files = new ArrayList<>(years);
+        for (int i = 0; i < years; i++) {
+            seeds[i] = seasonSeeds.nextLong();
+            files.add(directory.resolve("season-" + (firstYear + i) + ".csv"));
+        }
+
+        if (executor == null) {
+            for (int i = 0; i < years; i++) {
+                playSeason(firstYear + i, seeds[i], files.get(i));
+            }
+            return files;
+        }
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[years];
+        for (int i = 0; i < years; i++) {
+            int index = i;
+            futures[i] = CompletableFuture.runAsync(() -> {
+                try {
+                    playSeason(firstYear + index, seeds[index], files.get(index));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, executor);
+        }
+
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException cause) {
+                throw cause.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return files;
+    }
+
+    /**
+     * Plays the four Grand Slams of a year with one field, one line per tournament
+     */
+    private void playSeason(int year, long seasonSeed, Path file) throws IOException {
+        SplittableRandom random = new SplittableRandom(seasonSeed);
+        List<Player> field = null;
+
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write(HEADER);
+            out.newLine();
+
+            for (Tournament.GrandSlam grandSlam : getCalendar()) {
+                Tournament tournament = new Tournament(grandSlam, year, random.nextLong(), drawSize);
+                tournament.setAnnouncer(SilentAnnouncer.INSTANCE);
+                tournament.setCrowdMode(Tournament.CrowdMode.AGGREGATE);
+                tournament.setEngine(engine);
+                if (field == null) {
+                    tournament.generatePlayers();
+                    field = new ArrayList<>(tournament.getMensPlayers());
+                    field.addAll(tournament.getWomensPlayers());
+                } else {
+                    tournament.addPlayers(field);
+                }
+                tournament.generateReferees(REFEREES_PER_TOURNAMENT);
+                tournament.initializeFirstRound();
+
+                String round;
+                do {
+                    round = tournament.getCurrentRound();
+                    tournament.playCurrentRound();
+                } while (!round.equals("Finals"));
+
+                // Written as soon as the tournament is over, which is then dropped
+                out.write(summary(tournament));
+                out.newLine();
+                out.flush();
+            }
+        }
+    }
+
+    /**
+     * Gets the CSV line of a completed tournament
+     */
+    private static String summary(Tournament tournament) {
+        LocalDate startDate = LocalDate.of(tournament.getYear(), tournament.getGrandSlam().getStartMonth(), 1);
+        Match mensFinal = null;
+        Match womensFinal = null;
+        int matches = 0;
+        for (String round : tournament.getRoundNames()) {
+            matches += tournament.getMatchesForRound(round).size();
+        }
+        for (Match match : tournament.getMatchesForRound("Finals")) {
+            if (match.getCategory() == Match.Category.MENS_SINGLES) {
+                mensFinal = match;
+            } else {
+                womensFinal = match;
+            }
+        }
+
+        StringBuilder line = new StringBuilder();
+        line.append(tournament.getYear()).append(',')
+            .append(tournament.getGrandSlam()).append(',')
+            .append(startDate).append(',');
+        appendFinal(line, mensFinal, startDate);
+        appendFinal(line, womensFinal, startDate);
+        line.append(matches).append(',')
+            .append(tournament.getTotalSpectators()).append(',')
+            .append(String.format("%.2f", tournament.getTicketRevenue()));
+        return line.toString();
+    }
+
+    private static void appendFinal(StringBuilder line, Match finalMatch, LocalDate date) {
+        if (finalMatch == null) {
+            line.append(",,,,,");
+            return;
+        }
+        Player champion = finalMatch.getWinner();
+        Player runnerUp = (champion == finalMatch.getPlayer1()) ? finalMatch.getPlayer2()
+                                                                : finalMatch.getPlayer1();
+        line.append(quote(champion.getFullName())).append(',')
+            .append(champion.getAgeOn(date)).append(',')
+            .append(champion.getRanking()).append(',')
+            .append(quote(runnerUp.getFullName())).append(',');
+
+        // Games of each set, the champion's first, e.g. 6-4 3-6 7-6
+        for (int set = 0; set < finalMatch.getSetCount(); set++) {
+            int championGames = (champion == finalMatch.getPlayer1()) ? finalMatch.getPlayer1Games(set)
+                                                                      : finalMatch.getPlayer2Games(set);
+            int runnerUpGames = (champion == finalMatch.getPlayer1()) ? finalMatch.getPlayer2Games(set)
+                                                                      : finalMatch.getPlayer1Games(set);
+            line.append(set > 0 ? " " : "").append(championGames).append('-').append(runnerUpGames);
+        }
+        line.append(',');
+    }
+
+    /**
+     * Quotes a CSV field holding commas or quotes
+     */
+    private static String quote(String field) {
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0) {
+            return field;
+        }
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+
+    @Override
+    public String toString() {
+        return "SeasonSimulator [" + firstYear + "-" + (firstYear + years - 1) + ", draw of " + drawSize + "]";
+    }
+}
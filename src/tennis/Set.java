@@ -6,7 +6,10 @@ package tennis;
 
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a set in a tennis match.
@@ -18,14 +21,22 @@ public class Set implements Playable {
     
     private Player player1;
     private Player player2;
-    private int player1Games;
-    private int player2Games;
+    // Volatile so that a scoreboard on another thread can follow the set
+    private volatile int player1Games;
+    private volatile int player2Games;
     private Player winner;
-    private boolean isComplete;
+    private volatile boolean isComplete;
     private boolean isDecidingSet;  // Final set of the match
     private Referee referee;
     private Player currentServer;
     private List<Game> games;
+    private List<Game> gamesView;        // Read-only view handed out by getGames()
+    private int pointsPlayed;            // Points of the finished games
+    private volatile Game currentGame;   // Game being played, null before the first one
+    private RandomGenerator random;
+    private MatchListener listener;
+    private PointLog.Cursor replay;
+    private Match match;  // Owning match, null when played on its own
     
     /**
      * Constructor for Set
@@ -37,6 +48,20 @@ public class Set implements Playable {
      */
     public Set(Player player1, Player player2, Player initialServer, 
                Referee referee, boolean isDecidingSet) {
+        this(player1, player2, initialServer, referee, isDecidingSet, new SplittableRandom());
+    }
+    
+    /**
+     * Constructor for a set drawing from the match's random stream
+     * @param player1 the first player
+     * @param player2 the second player
+     * @param initialServer the player serving first in this set
+     * @param referee the referee officiating
+     * @param isDecidingSet true if this is the final set of the match
+     * @param random the match's random number stream, passed on to every game
+     */
+    public Set(Player player1, Player player2, Player initialServer, 
+               Referee referee, boolean isDecidingSet, RandomGenerator random) {
         if (player1 == null || player2 == null) {
             throw new IllegalArgumentException("Players cannot be null");
         }
@@ -49,6 +74,9 @@ public class Set implements Playable {
         if (referee == null) {
             throw new IllegalArgumentException("Referee cannot be null");
         }
+        if (random == null) {
+            throw new IllegalArgumentException("Random generator cannot be null");
+        }
         
         this.player1 = player1;
         this.player2 = player2;
@@ -60,6 +88,37 @@ public class Set implements Playable {
         this.winner = null;
         this.isComplete = false;
         this.games = new ArrayList<>();
+        this.gamesView = Collections.unmodifiableList(games);
+        this.pointsPlayed = 0;
+        this.currentGame = null;
+        this.random = random;
+        this.listener = null;
+        this.replay = null;
+        this.match = null;
+    }
+    
+    /**
+     * Sets the listener told about every point, passed down from the match
+     * @param listener the listener, or null
+     */
+    void setListener(MatchListener listener) {
+        this.listener = listener;
+    }
+    
+    /**
+     * Makes the set replay recorded points, passed down from the match
+     * @param replay cursor into the match's point log, or null to play rallies
+     */
+    void setReplay(PointLog.Cursor replay) {
+        this.replay = replay;
+    }
+    
+    /**
+     * Sets the match the set belongs to, passed down from the match
+     * @param match the match, or null
+     */
+    void setMatch(Match match) {
+        this.match = match;
     }
     
     /**
@@ -67,19 +126,25 @@ public class Set implements Playable {
      */
     @Override
     public void play() {
+        long start = MetricsRegistry.ENABLED ? System.nanoTime() : 0;
         while (!isComplete) {
             // Create and play a game
             Game game;
             
             // Check for tiebreak (at 6-6, unless it's deciding set)
             if (player1Games == 6 && player2Games == 6 && !isDecidingSet) {
-                game = new Game(player1, player2, currentServer, referee, true);
+                game = new Game(player1, player2, currentServer, referee, true, random);
             } else {
-                game = new Game(player1, player2, currentServer, referee);
+                game = new Game(player1, player2, currentServer, referee, false, random);
             }
             
+            game.setListener(listener);
+            game.setReplay(replay);
+            game.setMatch(match);
+            currentGame = game;
             game.play();
             games.add(game);
+            pointsPlayed += game.getPlayer1Points() + game.getPlayer2Points();
             
             // Update game scores
             Player gameWinner = game.getWinner();
@@ -92,6 +157,10 @@ public class Set implements Playable {
             // Check for set winner
             checkSetWinner();
             
+            if (listener != null) {
+                listener.onGameComplete(this, game);
+            }
+            
             // Alternate server for next game
             if (!isComplete) {
                 currentServer = (currentServer == player1) ? player2 : player1;
@@ -107,7 +176,12 @@ public class Set implements Playable {
             player1.recordSetLoss();
         }
         
-        referee.announceSetWinner(winner.getFullName(), player1Games, player2Games);
+        if (referee.isAnnouncing()) {
+            referee.announceSetWinner(winner.getFullName(), player1Games, player2Games);
+        }
+        if (MetricsRegistry.ENABLED) {
+            MetricsRegistry.SETS.record(System.nanoTime() - start);
+        }
     }
     
     /**
@@ -174,8 +248,20 @@ public class Set implements Playable {
         return currentServer;
     }
     
+    /**
+     * Gets the games played so far
+     * @return a read-only view of the games, no copy is made
+     */
     public List<Game> getGames() {
-        return new ArrayList<>(games);  // Return copy for encapsulation
+        return gamesView;
+    }
+    
+    /**
+     * Gets the game being played, or the last one once the set is over
+     * @return the current game, or null before the first game
+     */
+    Game getCurrentGame() {
+        return currentGame;
     }
     
     /**
@@ -194,6 +280,14 @@ public class Set implements Playable {
         return player1Games + player2Games;
     }
     
+    /**
+     * Gets the number of points played in the finished games of the set
+     * @return the points, tiebreak points included
+     */
+    public int getPointsPlayed() {
+        return pointsPlayed;
+    }
+    
     @Override
     public String toString() {
         return "Set: " + player1.getDisplayName() + " " + player1Games + 
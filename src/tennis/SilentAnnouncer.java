@@ -0,0 +1,27 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+/**
+ * Announcer that discards everything, for headless and bulk simulations.
+ * Since isEnabled() is false, callers never build the messages in the first place.
+ */
+public class SilentAnnouncer implements Announcer {
+    
+    /**
+     * Shared instance, the announcer is stateless
+     */
+    public static final SilentAnnouncer INSTANCE = new SilentAnnouncer();
+    
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+    
+    @Override
+    public void println(String message) {
+        // Intentionally empty
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder events of the simulation, so a recording can tie GC
+ * pauses and CPU hot spots to the match, set, tiebreak or round being
+ * played, e.g. a deciding set without tiebreak that ran to 20-18.
+ * Every event has its duration and thread; sets and tiebreaks fall inside
+ * the time span of their match on the same thread.
+ *
+ * The events are off unless a recording enables them, e.g.
+ * java -XX:StartFlightRecording:filename=sim.jfr,settings=profile ...
+ * (all are enabled by default in a recording; use "jfr print --events
+ * tennis.Match sim.jfr" to read them). When no recording is running,
+ * shouldCommit() is false and the fields are never filled.
+ */
+final class SimulationEvents {
+
+    private SimulationEvents() {
+    }
+
+    @Name("tennis.Match")
+    @Label("Match")
+    @Category("Tennis")
+    @Description("A match played from first point to last")
+    @StackTrace(false)
+    static final class MatchEvent extends Event {
+
+        @Label("Player 1")
+        String player1;
+
+        @Label("Player 2")
+        String player2;
+
+        @Label("Category")
+        String category;
+
+        @Label("Round")
+        String round;
+
+        @Label("Winner")
+        String winner;
+
+        @Label("Score")
+        String score;
+
+        @Label("Sets")
+        int sets;
+
+        @Label("Points")
+        int points;
+
+        @Label("Engine")
+        String engine;
+
+        void fill(Match match, String engine) {
+            this.player1 = match.getPlayer1().getFullName();
+            this.player2 = match.getPlayer2().getFullName();
+            this.category = match.getCategory().name();
+            this.round = match.getLevel();
+            this.winner = match.getWinner().getFullName();
+            this.sets = match.getSetCount();
+            this.points = match.getPointsPlayed();
+            this.engine = engine;
+            StringBuilder sb = new StringBuilder();
+            for (int set = 0; set < sets; set++) {
+                sb.append(set > 0 ? " " : "").append(match.getPlayer1Games(set))
+                  .append('-').append(match.getPlayer2Games(set));
+            }
+            this.score = sb.toString();
+        }
+    }
+
+    @Name("tennis.Set")
+    @Label("Set")
+    @Category("Tennis")
+    @Description("A set of a match")
+    @StackTrace(false)
+    static final class SetEvent extends Event {
+
+        @Label("Player 1")
+        String player1;
+
+        @Label("Player 2")
+        String player2;
+
+        @Label("Category")
+        String category;
+
+        @Label("Round")
+        String round;
+
+        @Label("Set Number")
+        int number;
+
+        @Label("Player 1 Games")
+        int player1Games;
+
+        @Label("Player 2 Games")
+        int player2Games;
+
+        @Label("Deciding Set")
+        boolean decidingSet;
+
+        @Label("Points")
+        int points;
+
+        void fill(Match match, Set set, int number) {
+            this.player1 = match.getPlayer1().getFullName();
+            this.player2 = match.getPlayer2().getFullName();
+            this.category = match.getCategory().name();
+            this.round = match.getLevel();
+            this.number = number;
+            this.player1Games = set.getPlayer1Games();
+            this.player2Games = set.getPlayer2Games();
+            this.decidingSet = set.isDecidingSet();
+            this.points = set.getPointsPlayed();
+        }
+    }
+
+    @Name("tennis.Tiebreak")
+    @Label("Tiebreak")
+    @Category("Tennis")
+    @Description("A tiebreak game at 6-6")
+    @StackTrace(false)
+    static final class TiebreakEvent extends Event {
+
+        @Label("Player 1")
+        String player1;
+
+        @Label("Player 2")
+        String player2;
+
+        @Label("Category")
+        @Description("Empty for a game played outside a match")
+        String category;
+
+        @Label("Round")
+        @Description("Empty for a game played outside a match")
+        String round;
+
+        @Label("Player 1 Points")
+        int player1Points;
+
+        @Label("Player 2 Points")
+        int player2Points;
+
+        @Label("Points")
+        int points;
+
+        void fill(Match match, Game game) {
+            this.player1 = game.getPlayer1().getFullName();
+            this.player2 = game.getPlayer2().getFullName();
+            this.category = (match != null) ? match.getCategory().name() : "";
+            this.round = (match != null) ? match.getLevel() : "";
+            this.player1Points = game.getPlayer1Points();
+            this.player2Points = game.getPlayer2Points();
+            this.points = player1Points + player2Points;
+        }
+    }
+
+    @Name("tennis.Round")
+    @Label("Round")
+    @Category("Tennis")
+    @Description("A tournament round, from its first match until the draw has advanced to the next round")
+    @StackTrace(false)
+    static final class RoundEvent extends Event {
+
+        @Label("Tournament")
+        String tournament;
+
+        @Label("Round")
+        String round;
+
+        @Label("Next Round")
+        @Description("Empty after the finals")
+        String nextRound;
+
+        @Label("Matches")
+        int matches;
+
+        @Label("Points")
+        long points;
+
+        void fill(Tournament tournament, String round, String nextRound, Iterable<Match> matches) {
+            this.tournament = tournament.getGrandSlam() + " " + tournament.getYear();
+            this.round = round;
+            this.nextRound = nextRound;
+            for (Match match : matches) {
+                this.matches++;
+                this.points += match.getPointsPlayed();
+            }
+        }
+    }
+}
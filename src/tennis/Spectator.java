@@ -10,6 +10,7 @@ package tennis;
  */
 import java.time.LocalDate;
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a spectator attending a tennis match.
@@ -34,7 +35,7 @@ public class Spectator extends Person {
     private boolean wearsGlasses;  // For women
     private boolean wearsHat;  // Not distinctive, but tracked
     
-    private Random random;
+    private RandomGenerator random;
     private double excitementLevel;  // 0.0 to 1.0, affects behavior
     
     /*
@@ -44,6 +45,17 @@ public class Spectator extends Person {
                     String placeOfBirth, String nationality, double height,
                     double weight, Gender gender, int seatNumber, 
                     double ticketPrice, String tournamentRound) {
+        this(birthName, firstName, birthDate, placeOfBirth, nationality, height, weight,
+             gender, seatNumber, ticketPrice, tournamentRound, new Random());
+    }
+    
+    /*
+     * Constructor for Spectator drawing from an existing random stream
+     */
+    public Spectator(String birthName, String firstName, LocalDate birthDate,
+                    String placeOfBirth, String nationality, double height,
+                    double weight, Gender gender, int seatNumber, 
+                    double ticketPrice, String tournamentRound, RandomGenerator random) {
         super(birthName, firstName, birthDate, placeOfBirth, nationality, height, weight);
         
         if (seatNumber <= 0) {
@@ -58,12 +70,15 @@ public class Spectator extends Person {
         if (gender == null) {
             throw new IllegalArgumentException("Gender cannot be null");
         }
+        if (random == null) {
+            throw new IllegalArgumentException("Random generator cannot be null");
+        }
         
         this.gender = gender;
         this.seatNumber = seatNumber;
         this.ticketPrice = ticketPrice;
         this.tournamentRound = tournamentRound;
-        this.random = new Random();
+        this.random = random;
         this.excitementLevel = 0.5 + (random.nextDouble() * 0.5);  // 0.5 to 1.0
         
         // Set distinctive features based on gender
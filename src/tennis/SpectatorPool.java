@@ -0,0 +1,468 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Column store for large crowds of spectators.
+ * Instead of one Spectator object (with its own Random, LocalDate and Strings)
+ * per person, every attribute is kept in a primitive array indexed by the
+ * spectator's position in the pool. Names, rounds and shirt colours are stored
+ * as codes into small shared tables. A spectator costs about 27 bytes.
+ *
+ * get(int) returns a lightweight View with the same queries as Spectator;
+ * View.toSpectator() materialises a full Spectator when one is needed.
+ */
+public class SpectatorPool {
+
+    private static final String[] SHIRT_COLORS = {"red", "blue", "green", "yellow", "white",
+                                                  "black", "orange", "purple", "pink", "gray"};
+
+    // Bits of the flags column
+    private static final byte FEMALE = 1;
+    private static final byte GLASSES = 2;
+    private static final byte HAT = 4;
+
+    private static final byte NO_SHIRT = -1;
+
+    private int size;
+    private int[] seatNumbers;
+    private float[] ticketPrices;
+    private float[] excitementLevels;
+    private int[] birthEpochDays;
+    private short[] firstNames;
+    private short[] lastNames;
+    private short[] heights;       // In tenths of cm
+    private short[] weights;       // In tenths of kg
+    private byte[] rounds;
+    private byte[] flags;
+    private byte[] shirtColors;
+
+    // Shared tables the code columns point into
+    private final List<String> names;
+    private final Map<String, Short> nameCodes;
+    private final List<String> roundNames;
+    private final List<String> colors;
+
+    /**
+     * Constructor for an empty SpectatorPool
+     */
+    public SpectatorPool() {
+        this(1024);
+    }
+
+    /**
+     * Constructor for SpectatorPool
+     * @param initialCapacity number of spectators the pool holds before growing
+     */
+    public SpectatorPool(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive");
+        }
+
+        this.size = 0;
+        this.seatNumbers = new int[initialCapacity];
+        this.ticketPrices = new float[initialCapacity];
+        this.excitementLevels = new float[initialCapacity];
+        this.birthEpochDays = new int[initialCapacity];
+        this.firstNames = new short[initialCapacity];
+        this.lastNames = new short[initialCapacity];
+        this.heights = new short[initialCapacity];
+        this.weights = new short[initialCapacity];
+        this.rounds = new byte[initialCapacity];
+        this.flags = new byte[initialCapacity];
+        this.shirtColors = new byte[initialCapacity];
+        this.names = new ArrayList<>();
+        this.nameCodes = new HashMap<>();
+        this.roundNames = new ArrayList<>();
+        this.colors = new ArrayList<>(Arrays.asList(SHIRT_COLORS));
+    }
+
+    /**
+     * Adds a spectator. The distinctive features are drawn from the random
+     * stream exactly as the Spectator constructor draws them.
+     * @param birthName the spectator's birth name
+     * @param firstName the spectator's first name
+     * @param birthDate the spectator's date of birth
+     * @param height height in cm
+     * @param weight weight in kg
+     * @param gender the spectator's gender
+     * @param seatNumber the seat number (positive)
+     * @param ticketPrice the ticket price (not negative)
+     * @param tournamentRound the round the spectator watches
+     * @param random random stream for excitement, shirt, glasses and hat
+     * @return the index of the new spectator
+     */
+    public int add(String birthName, String firstName, LocalDate birthDate, double height,
+                   double weight, Spectator.Gender gender, int seatNumber, double ticketPrice,
+                   String tournamentRound, RandomGenerator random) {
+        if (birthName == null || birthName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Birth name cannot be null or empty");
+        }
+        if (firstName == null || firstName.trim().isEmpty()) {
+            throw new IllegalArgumentException("First name cannot be null or empty");
+        }
+        if (birthDate == null) {
+            throw new IllegalArgumentException("Birth date cannot be null");
+        }
+        if (height <= 0 || weight <= 0) {
+            throw new IllegalArgumentException("Height and weight must be positive");
+        }
+        if (gender == null) {
+            throw new IllegalArgumentException("Gender cannot be null");
+        }
+        if (seatNumber <= 0) {
+            throw new IllegalArgumentException("Seat number must be positive");
+        }
+        if (ticketPrice < 0) {
+            throw new IllegalArgumentException("Ticket price cannot be negative");
+        }
+        if (tournamentRound == null || tournamentRound.trim().isEmpty()) {
+            throw new IllegalArgumentException("Tournament round cannot be null or empty");
+        }
+
+        if (size == seatNumbers.length) {
+            grow();
+        }
+
+        int index = size++;
+        seatNumbers[index] = seatNumber;
+        ticketPrices[index] = (float) ticketPrice;
+        birthEpochDays[index] = (int) birthDate.toEpochDay();
+        firstNames[index] = nameCode(firstName);
+        lastNames[index] = nameCode(birthName);
+        heights[index] = (short) Math.round(height * 10);
+        weights[index] = (short) Math.round(weight * 10);
+        rounds[index] = roundCode(tournamentRound);
+
+        // Same draws, in the same order, as the Spectator constructor
+        excitementLevels[index] = (float) (0.5 + (random.nextDouble() * 0.5));
+        byte flag = 0;
+        if (gender == Spectator.Gender.MALE) {
+            shirtColors[index] = (byte) random.nextInt(SHIRT_COLORS.length);
+        } else {
+            shirtColors[index] = NO_SHIRT;
+            flag |= FEMALE;
+            if (random.nextBoolean()) {
+                flag |= GLASSES;
+            }
+        }
+        if (random.nextBoolean()) {
+            flag |= HAT;
+        }
+        flags[index] = flag;
+
+        return index;
+    }
+
+    /**
+     * Grows every column by half
+     */
+    private void grow() {
+        int capacity = seatNumbers.length + (seatNumbers.length >> 1) + 1;
+        seatNumbers = Arrays.copyOf(seatNumbers, capacity);
+        ticketPrices = Arrays.copyOf(ticketPrices, capacity);
+        excitementLevels = Arrays.copyOf(excitementLevels, capacity);
+        birthEpochDays = Arrays.copyOf(birthEpochDays, capacity);
+        firstNames = Arrays.copyOf(firstNames, capacity);
+        lastNames = Arrays.copyOf(lastNames, capacity);
+        heights = Arrays.copyOf(heights, capacity);
+        weights = Arrays.copyOf(weights, capacity);
+        rounds = Arrays.copyOf(rounds, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        shirtColors = Arrays.copyOf(shirtColors, capacity);
+    }
+
+    private short nameCode(String name) {
+        Short code = nameCodes.get(name);
+        if (code == null) {
+            if (names.size() > Short.MAX_VALUE) {
+                throw new IllegalStateException("Too many distinct spectator names");
+            }
+            code = (short) names.size();
+            names.add(name);
+            nameCodes.put(name, code);
+        }
+        return code;
+    }
+
+    private byte roundCode(String round) {
+        int code = roundNames.indexOf(round);
+        if (code < 0) {
+            if (roundNames.size() > Byte.MAX_VALUE) {
+                throw new IllegalStateException("Too many distinct rounds");
+            }
+            code = roundNames.size();
+            roundNames.add(round);
+        }
+        return (byte) code;
+    }
+
+    private byte colorCode(String color) {
+        int code = colors.indexOf(color);
+        if (code < 0) {
+            if (colors.size() > Byte.MAX_VALUE) {
+                throw new IllegalStateException("Too many distinct shirt colors");
+            }
+            code = colors.size();
+            colors.add(color);
+        }
+        return (byte) code;
+    }
+
+    /**
+     * Gets the number of spectators in the pool
+     * @return the pool size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets a view of one spectator
+     * @param index position in the pool
+     * @return a view reading and writing the pool's columns
+     */
+    public View get(int index) {
+        checkIndex(index);
+        return new View(index);
+    }
+
+    /**
+     * Checks if a spectator wears a hat without creating a view
+     * @param index position in the pool
+     * @return true if wearing a hat
+     */
+    public boolean wearsHat(int index) {
+        checkIndex(index);
+        return (flags[index] & HAT) != 0;
+    }
+
+    /**
+     * Checks if a spectator wears glasses without creating a view
+     * @param index position in the pool
+     * @return true if wearing glasses (women only)
+     */
+    public boolean wearsGlasses(int index) {
+        checkIndex(index);
+        return (flags[index] & GLASSES) != 0;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Spectator index " + index + " out of range");
+        }
+    }
+
+    /**
+     * Counts the spectators wearing a hat
+     * @return number of hats
+     */
+    public int countHats() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if ((flags[i] & HAT) != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts the female spectators wearing glasses
+     * @return number of glasses
+     */
+    public int countGlasses() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if ((flags[i] & GLASSES) != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Adds up the price of all tickets
+     * @return the ticket revenue
+     */
+    public double getTicketRevenue() {
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            total += ticketPrices[i];
+        }
+        return total;
+    }
+
+    /**
+     * Lightweight view of one spectator in the pool, mirrors the Spectator queries
+     */
+    public class View {
+
+        private final int index;
+
+        private View(int index) {
+            this.index = index;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getBirthName() {
+            return names.get(lastNames[index]);
+        }
+
+        public String getFirstName() {
+            return names.get(firstNames[index]);
+        }
+
+        public String getFullName() {
+            return getFirstName() + " " + getBirthName();
+        }
+
+        public LocalDate getBirthDate() {
+            return LocalDate.ofEpochDay(birthEpochDays[index]);
+        }
+
+        public double getHeight() {
+            return heights[index] / 10.0;
+        }
+
+        public double getWeight() {
+            return weights[index] / 10.0;
+        }
+
+        public int getSeatNumber() {
+            return seatNumbers[index];
+        }
+
+        public double getTicketPrice() {
+            return ticketPrices[index];
+        }
+
+        public String getTournamentRound() {
+            return roundNames.get(rounds[index]);
+        }
+
+        public Spectator.Gender getGender() {
+            return (flags[index] & FEMALE) != 0 ? Spectator.Gender.FEMALE : Spectator.Gender.MALE;
+        }
+
+        public String getShirtColor() {
+            byte code = shirtColors[index];
+            return code == NO_SHIRT ? null : colors.get(code);
+        }
+
+        /**
+         * Changes shirt color (for men only)
+         * @param newColor the new color
+         */
+        public void changeShirtColor(String newColor) {
+            if (getGender() != Spectator.Gender.MALE) {
+                throw new IllegalStateException("Only male spectators change shirt colors as distinctive feature");
+            }
+            if (newColor == null || newColor.trim().isEmpty()) {
+                throw new IllegalArgumentException("Color cannot be null or empty");
+            }
+            shirtColors[index] = colorCode(newColor);
+        }
+
+        public boolean wearsGlasses() {
+            return (flags[index] & GLASSES) != 0;
+        }
+
+        /**
+         * Changes glasses status (for women only)
+         * @param wearsGlasses true if wearing glasses
+         */
+        public void setWearsGlasses(boolean wearsGlasses) {
+            if (getGender() != Spectator.Gender.FEMALE) {
+                throw new IllegalStateException("Only female spectators have glasses as distinctive feature");
+            }
+            setFlag(GLASSES, wearsGlasses);
+        }
+
+        public boolean wearsHat() {
+            return (flags[index] & HAT) != 0;
+        }
+
+        public void setWearsHat(boolean wearsHat) {
+            setFlag(HAT, wearsHat);
+        }
+
+        private void setFlag(byte bit, boolean value) {
+            flags[index] = (byte) (value ? (flags[index] | bit) : (flags[index] & ~bit));
+        }
+
+        public double getExcitementLevel() {
+            return excitementLevels[index];
+        }
+
+        /**
+         * Updates excitement level based on match progress
+         * @param change amount added to the excitement level (clamped to 0.0 - 1.0)
+         */
+        public void updateExcitementLevel(double change) {
+            excitementLevels[index] = (float) Math.max(0.0, Math.min(1.0, excitementLevels[index] + change));
+        }
+
+        /**
+         * Gets spectator's distinctive description, same text as Spectator's
+         * @return the description
+         */
+        public String getDistinctiveDescription() {
+            StringBuilder desc = new StringBuilder();
+            desc.append("Seat ").append(getSeatNumber()).append(": ");
+            desc.append(getFullName()).append(" (").append(getGender()).append(")");
+
+            if (getGender() == Spectator.Gender.MALE) {
+                desc.append(" - wearing ").append(getShirtColor()).append(" shirt");
+            } else {
+                desc.append(" - ").append(wearsGlasses() ? "wearing glasses" : "no glasses");
+            }
+
+            if (wearsHat()) {
+                desc.append(", has a hat");
+            }
+
+            return desc.toString();
+        }
+
+        /**
+         * Materialises a full Spectator with the same attributes
+         * @param random random stream for the spectator's behaviour
+         * @return a new Spectator
+         */
+        public Spectator toSpectator(RandomGenerator random) {
+            Spectator spectator = new Spectator(getBirthName(), getFirstName(), getBirthDate(),
+                                                "Various", "Various", getHeight(), getWeight(),
+                                                getGender(), getSeatNumber(), getTicketPrice(),
+                                                getTournamentRound(), random);
+            if (getGender() == Spectator.Gender.MALE) {
+                spectator.changeShirtColor(getShirtColor());
+            } else {
+                spectator.setWearsGlasses(wearsGlasses());
+            }
+            spectator.setWearsHat(wearsHat());
+            spectator.updateExcitementLevel(getExcitementLevel() - spectator.getExcitementLevel());
+            return spectator;
+        }
+
+        @Override
+        public String toString() {
+            return getFullName() + " [Spectator, Seat: " + getSeatNumber() +
+                   ", Round: " + getTournamentRound() + ", Ticket: $" +
+                   String.format("%.2f", getTicketPrice()) + "]";
+        }
+    }
+}
@@ -7,10 +7,16 @@ package tennis;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a Grand Slam tennis tournament.
- * Manages 128 players per category through 7 rounds of matches.
+ * Manages a draw of 128 players per category (or any size from 8 to 2^20)
+ * through as many rounds as the draw needs. When the field does not fill a
+ * power of two, the best ranked players get a bye into the second round.
  */
 public class Tournament {
     
@@ -41,58 +47,154 @@ public class Tournament {
         public int getEndMonth() { return endMonth; }
     }
     
+    /**
+     * How matches are simulated
+     */
+    public enum Engine {
+        OBJECT,  // Match, Set, Game and Rally objects, point by point
+        KERNEL   // Allocation-free MatchKernel, only match totals are recorded
+    }
+    
+    /**
+     * How spectators are generated for each round
+     */
+    public enum CrowdMode {
+        INDIVIDUAL,  // Every spectator is created and kept in the spectator pool
+        AGGREGATE    // Only the crowd totals are drawn, no spectator is created
+    }
+    
     private GrandSlam grandSlam;
     private int year;
     private List<Player> mensPlayers;
     private List<Player> womensPlayers;
     private List<Referee> referees;
-    private List<Spectator> spectators;
+    private PlayerIndex playerIndex;  // Built by the first search, guarded by this
+    private volatile Map<Player.Gender, Leaderboard> leaderboards;  // Built by the first request, under this
+    private RatingEngine ratingEngine;  // Null keeps the simple ranking updates
+    private SpectatorPool spectators;
     private Map<String, List<Match>> matchesByRound;  // Round name -> List of matches
     private String currentRound;
-    private Random random;
+    private final long seed;
+    private SplittableRandom random;  // Setup stream: players, referees, draw
+    private int matchesCreated;       // Key of the next match's random stream
+    private Announcer announcer;
+    private Executor executor;        // Null plays matches one after another
+    private CrowdMode crowdMode;
+    private Engine engine;
+    private boolean pointLogging;     // Record a PointLog for every match
+    private EventJournal journal;     // Null records no events
+    private ResultExporter exporter;  // Null exports no results
+    private ScoreEventBus eventBus;   // Null publishes no live events
     
     // Tournament statistics
-    private int totalSpectators;
+    private long totalSpectators;
     private int totalBallsUsed;
-    private int glassesSold;
-    private int hatsSold;
+    private long glassesSold;
+    private long hatsSold;
+    private double ticketRevenue;
     
-    // Round names
-    private static final String[] ROUND_NAMES = {
-        "First Round", "Second Round", "Third Round", "Round of 16",
-        "Quarterfinals", "Semifinals", "Finals"
+    // Draw sizes, players per category
+    public static final int DEFAULT_DRAW_SIZE = 128;
+    public static final int MIN_DRAW_SIZE = 8;
+    public static final int MAX_DRAW_SIZE = 1 << 20;
+    
+    // Names of the last rounds of a draw, the earlier ones are numbered
+    private static final String[] LAST_ROUND_NAMES = {
+        "Round of 16", "Quarterfinals", "Semifinals", "Finals"
+    };
+    private static final String[] ORDINALS = {
+        "First", "Second", "Third", "Fourth", "Fifth", "Sixth", "Seventh", "Eighth",
+        "Ninth", "Tenth", "Eleventh", "Twelfth", "Thirteenth", "Fourteenth", "Fifteenth", "Sixteenth"
     };
     
-    // ATP/WTA points per round
-    private static final int[] POINTS_PER_ROUND = {
-        10, 45, 90, 180, 360, 720, 1200
+    // ATP/WTA points per round, counted back from the finals
+    private static final int[] POINTS_BEFORE_FINALS = {
+        1200, 720, 360, 180, 90, 45, 10
     };
     
+    private final int drawSize;
+    private final String[] roundNames;
+    private final int[] pointsPerRound;
+    
+    // Last year generated birth dates follow the tournament year
+    static final int LATEST_FIELD_YEAR = 2024;
+    
+    // Kinds of derived random streams
+    private static final long MATCH_STREAM = 1;
+    private static final long ROUND_STREAM = 2;
+    private static final long REFEREE_STREAM = 3;
+    
     /**
-     * Constructor for Tournament
+     * Constructor for Tournament with a random seed
      * @param grandSlam the Grand Slam tournament type
      * @param year the year of the tournament
      */
     public Tournament(GrandSlam grandSlam, int year) {
+        this(grandSlam, year, new SplittableRandom().nextLong());
+    }
+    
+    /**
+     * Constructor for a reproducible Tournament.
+     * Every match gets its own random stream derived from the seed and the
+     * order in which matches are created, so the same seed gives identical
+     * results no matter in which order (or on which thread) matches are played.
+     * @param grandSlam the Grand Slam tournament type
+     * @param year the year of the tournament
+     * @param seed the seed all random streams of the tournament derive from
+     */
+    public Tournament(GrandSlam grandSlam, int year, long seed) {
+        this(grandSlam, year, seed, DEFAULT_DRAW_SIZE);
+    }
+    
+    /**
+     * Constructor for a reproducible Tournament with a draw of any size.
+     * The draw has as many rounds as it takes to halve the field down to
+     * the finals (7 for 128 players, 20 for 2^20).
+     * @param grandSlam the Grand Slam tournament type
+     * @param year the year of the tournament
+     * @param seed the seed all random streams of the tournament derive from
+     * @param drawSize players per category, from MIN_DRAW_SIZE to MAX_DRAW_SIZE
+     */
+    public Tournament(GrandSlam grandSlam, int year, long seed, int drawSize) {
         if (grandSlam == null) {
             throw new IllegalArgumentException("Grand Slam cannot be null");
         }
         if (year < 1900 || year > 2100) {
             throw new IllegalArgumentException("Invalid year");
         }
+        if (drawSize < MIN_DRAW_SIZE || drawSize > MAX_DRAW_SIZE) {
+            throw new IllegalArgumentException("Draw size must be between " + MIN_DRAW_SIZE
+                                               + " and " + MAX_DRAW_SIZE);
+        }
         
         this.grandSlam = grandSlam;
         this.year = year;
+        this.drawSize = drawSize;
+        this.roundNames = roundNames(drawSize);
+        this.pointsPerRound = pointsPerRound(roundNames.length);
         this.mensPlayers = new ArrayList<>();
         this.womensPlayers = new ArrayList<>();
         this.referees = new ArrayList<>();
-        this.spectators = new ArrayList<>();
+        this.playerIndex = null;
+        this.leaderboards = null;
+        this.ratingEngine = null;
+        this.spectators = new SpectatorPool();
         this.matchesByRound = new LinkedHashMap<>();
-        this.random = new Random();
-        this.currentRound = ROUND_NAMES[0];
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+        this.matchesCreated = 0;
+        this.announcer = ConsoleAnnouncer.INSTANCE;
+        this.crowdMode = CrowdMode.INDIVIDUAL;
+        this.engine = Engine.OBJECT;
+        this.pointLogging = false;
+        this.journal = null;
+        this.exporter = null;
+        this.eventBus = null;
+        this.executor = null;
+        this.currentRound = roundNames[0];
         
         // Initialize rounds
-        for (String round : ROUND_NAMES) {
+        for (String round : roundNames) {
             matchesByRound.put(round, new ArrayList<>());
         }
         
@@ -101,15 +203,51 @@ public class Tournament {
         this.totalBallsUsed = 0;
         this.glassesSold = 0;
         this.hatsSold = 0;
+        this.ticketRevenue = 0;
     }
     
     /**
-     * Generates players for the tournament
+     * Gets the names of the rounds of a draw: numbered rounds ("First Round",
+     * "Second Round", ...) followed by up to the last four of "Round of 16",
+     * "Quarterfinals", "Semifinals" and "Finals"
+     */
+    private static String[] roundNames(int drawSize) {
+        // Rounds needed to bring the draw, byes included, down to one player
+        int rounds = 32 - Integer.numberOfLeadingZeros(drawSize - 1);
+        int lastRounds = Math.min(rounds, LAST_ROUND_NAMES.length);
+        
+        String[] names = new String[rounds];
+        for (int i = 0; i < rounds - lastRounds; i++) {
+            names[i] = ORDINALS[i] + " Round";
+        }
+        System.arraycopy(LAST_ROUND_NAMES, LAST_ROUND_NAMES.length - lastRounds,
+                         names, rounds - lastRounds, lastRounds);
+        return names;
+    }
+    
+    /**
+     * Gets the points of each round: the ATP/WTA points of the last seven
+     * rounds, halved for each earlier round down to a single point
+     */
+    private static int[] pointsPerRound(int rounds) {
+        int[] points = new int[rounds];
+        for (int i = 0; i < rounds; i++) {
+            int beforeFinals = rounds - 1 - i;
+            int last = POINTS_BEFORE_FINALS.length - 1;
+            points[i] = (beforeFinals <= last)
+                        ? POINTS_BEFORE_FINALS[beforeFinals]
+                        : Math.max(1, POINTS_BEFORE_FINALS[last] >> (beforeFinals - last));
+        }
+        return points;
+    }
+    
+    /**
+     * Generates players for the tournament, a full draw per category
      */
     public void generatePlayers() {
-        generateMensPlayers(128);
-        generateWomensPlayers(128);
-        System.out.println("Generated 128 men's players and 128 women's players");
+        generateMensPlayers(drawSize);
+        generateWomensPlayers(drawSize);
+        announcer.println("Generated " + drawSize + " men's players and " + drawSize + " women's players");
     }
     
     /**
@@ -125,7 +263,7 @@ public class Tournament {
             String firstName = firstNames[random.nextInt(firstNames.length)] + (i / 10);
             String lastName = lastNames[random.nextInt(lastNames.length)] + (i % 10);
             
-            LocalDate birthDate = LocalDate.of(1985 + random.nextInt(15), 
+            LocalDate birthDate = LocalDate.of(fieldYear() - 39 + random.nextInt(15), 
                                               1 + random.nextInt(12), 
                                               1 + random.nextInt(28));
             
@@ -138,6 +276,7 @@ public class Tournament {
                                       Player.Gender.MALE, i + 1);
             
             mensPlayers.add(player);
+            indexPlayer(player);
         }
     }
     
@@ -154,7 +293,7 @@ public class Tournament {
             String firstName = firstNames[random.nextInt(firstNames.length)] + (i / 10);
             String lastName = lastNames[random.nextInt(lastNames.length)] + (i % 10);
             
-            LocalDate birthDate = LocalDate.of(1985 + random.nextInt(15), 
+            LocalDate birthDate = LocalDate.of(fieldYear() - 39 + random.nextInt(15), 
                                               1 + random.nextInt(12), 
                                               1 + random.nextInt(28));
             
@@ -167,6 +306,51 @@ public class Tournament {
                                       Player.Gender.FEMALE, i + 1);
             
             womensPlayers.add(player);
+            indexPlayer(player);
+        }
+    }
+    
+    /**
+     * Gets the year generated people are born relative to: players are 25 to
+     * 39 and referees 35 to 64 in the year of the tournament, up to 2024.
+     * Later tournaments keep the 2024 field, whose birth dates are all past.
+     */
+    private int fieldYear() {
+        return Math.min(year, LATEST_FIELD_YEAR);
+    }
+    
+    /**
+     * Enters existing players, e.g. the field of an earlier tournament of a
+     * season, who keep their rankings and statistics
+     * @param players men and women, added to the field of their gender
+     */
+    public void addPlayers(Collection<Player> players) {
+        if (players == null) {
+            throw new IllegalArgumentException("Players cannot be null");
+        }
+        
+        for (Player player : players) {
+            if (player.getGender() == Player.Gender.MALE) {
+                mensPlayers.add(player);
+            } else {
+                womensPlayers.add(player);
+            }
+            indexPlayer(player);
+        }
+    }
+    
+    /**
+     * Adds a new player to the name index and leaderboard, once they exist
+     */
+    private synchronized void indexPlayer(Player player) {
+        if (playerIndex != null) {
+            playerIndex.add(player);
+        }
+        if (ratingEngine != null) {
+            ratingEngine.register(player);
+        }
+        if (leaderboards != null) {
+            leaderboards.get(player.getGender()).add(player);
         }
     }
     
@@ -182,7 +366,7 @@ public class Tournament {
             String firstName = firstNames[random.nextInt(firstNames.length)] + (i / 5);
             String lastName = lastNames[random.nextInt(lastNames.length)] + (i % 5);
             
-            LocalDate birthDate = LocalDate.of(1960 + random.nextInt(30), 
+            LocalDate birthDate = LocalDate.of(fieldYear() - 64 + random.nextInt(30), 
                                               1 + random.nextInt(12), 
                                               1 + random.nextInt(28));
             
@@ -191,23 +375,63 @@ public class Tournament {
             double weight = 70 + random.nextInt(20);
             
             Referee referee = new Referee(lastName, firstName, birthDate, "Various", 
-                                         "Various", height, weight, experience);
+                                         "Various", height, weight, experience, random.split());
+            referee.setAnnouncer(announcer);
             
             referees.add(referee);
         }
         
-        System.out.println("Generated " + count + " referees");
+        if (announcer.isEnabled()) {
+            announcer.println("Generated " + count + " referees");
+        }
+    }
+    
+    /**
+     * Draws the crowd totals of a round without creating any spectator.
+     * Every spectator is a woman with probability 1/2, a woman wears glasses
+     * with probability 1/2 and anyone wears a hat with probability 1/2,
+     * independently, so the totals are binomial draws with the same
+     * distribution as the counts of generated spectators.
+     */
+    private void generateCrowdTotals(long count, RandomGenerator random) {
+        // The crowds of the early rounds of huge draws are drawn in parts
+        for (long remaining = count; remaining > 0; remaining -= Integer.MAX_VALUE) {
+            int part = (int) Math.min(remaining, Integer.MAX_VALUE);
+            int women = BinomialSampler.sample(random, part, 0.5);
+            
+            totalSpectators += part;
+            glassesSold += BinomialSampler.sample(random, women, 0.5);
+            hatsSold += BinomialSampler.sample(random, part, 0.5);
+        }
     }
     
     /**
      * Generates spectators for a specific round
      */
     public void generateSpectators(String round, int count) {
+        generateSpectators(round, count, random);
+    }
+    
+    /**
+     * Generates spectators for a specific round from the given random stream
+     */
+    private void generateSpectators(String round, long count, RandomGenerator random) {
+        double ticketPrice = Spectator.calculateTicketPrice(round);
+        
+        if (crowdMode == CrowdMode.AGGREGATE) {
+            ticketRevenue += ticketPrice * count;
+            generateCrowdTotals(count, random);
+            return;
+        }
+        if (count > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Too many spectators to generate one by one, "
+                                            + "use CrowdMode.AGGREGATE");
+        }
+        ticketRevenue += ticketPrice * count;
+        
         String[] firstNames = {"John", "Emma", "Michael", "Sarah", "David", "Sophie"};
         String[] lastNames = {"Smith", "Johnson", "Brown", "Wilson", "Taylor", "Anderson"};
         
-        double ticketPrice = Spectator.calculateTicketPrice(round);
-        
         for (int i = 0; i < count; i++) {
             String firstName = firstNames[random.nextInt(firstNames.length)];
             String lastName = lastNames[random.nextInt(lastNames.length)];
@@ -222,17 +446,14 @@ public class Tournament {
             double height = 160 + random.nextInt(30);
             double weight = 60 + random.nextInt(30);
             
-            Spectator spectator = new Spectator(lastName, firstName, birthDate, "Various",
-                                                "Various", height, weight, gender,
-                                                i + 1, ticketPrice, round);
-            
-            spectators.add(spectator);
+            int index = spectators.add(lastName, firstName, birthDate, height, weight, gender,
+                                       i + 1, ticketPrice, round, random);
             totalSpectators++;
             
-            if (gender == Spectator.Gender.FEMALE && spectator.wearsGlasses()) {
+            if (spectators.wearsGlasses(index)) {
                 glassesSold++;
             }
-            if (spectator.wearsHat()) {
+            if (spectators.wearsHat(index)) {
                 hatsSold++;
             }
         }
@@ -243,20 +464,85 @@ public class Tournament {
      */
     public void initializeFirstRound() {
         // Shuffle players for random matchups
-        List<Player> shuffledMens = new ArrayList<>(mensPlayers);
-        List<Player> shuffledWomens = new ArrayList<>(womensPlayers);
-        Collections.shuffle(shuffledMens);
-        Collections.shuffle(shuffledWomens);
+        List<Player> shuffledMens = drawFirstRound(mensPlayers);
+        List<Player> shuffledWomens = drawFirstRound(womensPlayers);
         
-        // Create men's matches (64 matches)
+        // Create men's matches (64 matches in a full draw of 128)
         createMatchesForRound(shuffledMens, Match.Category.MENS_SINGLES, 
-                            ROUND_NAMES[0], POINTS_PER_ROUND[0]);
+                            roundNames[0], pointsPerRound[0]);
         
-        // Create women's matches (64 matches)
+        // Create women's matches
         createMatchesForRound(shuffledWomens, Match.Category.WOMENS_SINGLES, 
-                            ROUND_NAMES[0], POINTS_PER_ROUND[0]);
+                            roundNames[0], pointsPerRound[0]);
+        
+        if (announcer.isEnabled()) {
+            announcer.println("First round initialized: " + shuffledMens.size() / 2 + " men's matches + "
+                              + shuffledWomens.size() / 2 + " women's matches");
+        }
+    }
+    
+    /**
+     * Gets the players of a category who play the first round, shuffled.
+     * If the field is smaller than the bracket (the draw size rounded up to a
+     * power of two), the best ranked players get a bye and are left out.
+     */
+    private List<Player> drawFirstRound(List<Player> players) {
+        int bracketSize = 1 << roundNames.length;
+        if (!players.isEmpty() && (players.size() > bracketSize || 2 * players.size() <= bracketSize)) {
+            throw new IllegalStateException(players.size() + " players do not fit a draw of " + drawSize);
+        }
+        
+        List<Player> entrants = new ArrayList<>(players);
+        if (!players.isEmpty() && players.size() < bracketSize) {
+            List<Player> seeded = new ArrayList<>(players);
+            seeded.sort(Comparator.comparingInt(Player::getRanking));
+            Map<Player, Boolean> byes = new IdentityHashMap<>();
+            for (Player player : seeded.subList(0, bracketSize - players.size())) {
+                byes.put(player, Boolean.TRUE);
+            }
+            entrants.removeIf(byes::containsKey);
+        }
+        
+        Collections.shuffle(entrants, random);
+        return entrants;
+    }
+    
+    /**
+     * Adds the players who had a bye in the first round to its winners,
+     * alternately, so each of them meets a first round winner
+     */
+    private static List<Player> addByes(List<Player> winners, List<Player> players, List<Match> firstRound) {
+        if (2 * winners.size() == players.size()) {
+            return winners;  // Everyone played the first round
+        }
+        
+        Map<Player, Boolean> played = new IdentityHashMap<>();
+        for (Match match : firstRound) {
+            played.put(match.getPlayer1(), Boolean.TRUE);
+            played.put(match.getPlayer2(), Boolean.TRUE);
+        }
+        List<Player> byes = new ArrayList<>();
+        for (Player player : players) {
+            if (!played.containsKey(player)) {
+                byes.add(player);
+            }
+        }
+        if (byes.isEmpty()) {
+            return winners;
+        }
         
-        System.out.println("First round initialized: 64 men's matches + 64 women's matches");
+        List<Player> draw = new ArrayList<>(winners.size() + byes.size());
+        int nextWinner = 0;
+        int nextBye = 0;
+        while (nextWinner < winners.size() || nextBye < byes.size()) {
+            if (nextBye < byes.size()) {
+                draw.add(byes.get(nextBye++));
+            }
+            if (nextWinner < winners.size()) {
+                draw.add(winners.get(nextWinner++));
+            }
+        }
+        return draw;
     }
     
     /**
@@ -267,15 +553,35 @@ public class Tournament {
         List<Match> matches = matchesByRound.get(round);
         
         for (int i = 0; i < players.size(); i += 2) {
-            Player player1 = players.get(i);
-            Player player2 = players.get(i + 1);
-            Referee referee = referees.get(random.nextInt(referees.size()));
-            
-            Match match = new Match(player1, player2, referee, category, round, points);
+            int serial = matchesCreated++;
+            Match match = createMatch(players.get(i), players.get(i + 1), category,
+                                      round, points, serial);
+            if (pointLogging) {
+                match.enablePointLog();
+            }
+            if (journal != null) {
+                match.addListener(journal.writer(match, serial));
+            }
+            if (eventBus != null) {
+                match.addListener(eventBus.publisher(match, serial));
+            }
             matches.add(match);
         }
     }
     
+    /**
+     * Creates one match with its own random stream
+     * @param serial number of the match in creation order, keys its random stream
+     */
+    Match createMatch(Player player1, Player player2, Match.Category category,
+                      String round, int points, int serial) {
+        // The match's own stream also picks the referee
+        SplittableRandom matchRandom = deriveStream(MATCH_STREAM, serial);
+        Referee referee = referees.get(matchRandom.nextInt(referees.size()));
+        
+        return new Match(player1, player2, referee, category, round, points, matchRandom);
+    }
+    
     /**
      * Plays all matches in the current round
      */
@@ -283,50 +589,125 @@ public class Tournament {
         List<Match> matches = matchesByRound.get(currentRound);
         
         if (matches.isEmpty()) {
-            System.out.println("No matches to play in " + currentRound);
+            if (announcer.isEnabled()) {
+                announcer.println("No matches to play in " + currentRound);
+            }
             return;
         }
         
-        System.out.println("\n" + "=".repeat(50));
-        System.out.println(grandSlam + " " + year + " - " + currentRound);
-        System.out.println("=".repeat(50) + "\n");
+        if (announcer.isEnabled()) {
+            announcer.println("\n" + "=".repeat(50));
+            announcer.println(grandSlam + " " + year + " - " + currentRound);
+            announcer.println("=".repeat(50) + "\n");
+        }
+        
+        long start = MetricsRegistry.ENABLED ? System.nanoTime() : 0;
+        SimulationEvents.RoundEvent event = new SimulationEvents.RoundEvent();
+        event.begin();
+        String round = currentRound;
         
         // Generate spectators for this round
-        int spectatorsPerMatch = 1000 + random.nextInt(5000);
-        generateSpectators(currentRound, matches.size() * spectatorsPerMatch);
+        SplittableRandom roundRandom = deriveStream(ROUND_STREAM, getRoundNames().indexOf(currentRound));
+        int spectatorsPerMatch = 1000 + roundRandom.nextInt(5000);
+        generateSpectators(currentRound, (long) matches.size() * spectatorsPerMatch, roundRandom);
         
         // Play each match
+        if (executor == null) {
+            for (int i = 0; i < matches.size(); i++) {
+                playMatch(matches, i);
+            }
+        } else {
+            playMatchesInParallel(matches);
+        }
+        
+        // Estimate balls used (approximately 6-9 balls per match)
         for (int i = 0; i < matches.size(); i++) {
-            Match match = matches.get(i);
-            System.out.println("\n--- Match " + (i + 1) + " of " + matches.size() + " ---");
-            match.play();
-            
-            // Estimate balls used (approximately 6-9 balls per match)
-            totalBallsUsed += 6 + random.nextInt(4);
+            totalBallsUsed += 6 + roundRandom.nextInt(4);
+        }
+        
+        if (MetricsRegistry.ENABLED) {
+            long elapsed = System.nanoTime() - start;
+            MetricsRegistry.ROUNDS.record(elapsed);
+            MetricsRegistry.getDefault().histogram("round." + round).record(elapsed);
         }
         
         // Advance to next round if not finals
         if (!currentRound.equals("Finals")) {
             advanceToNextRound();
-        } else {
-            System.out.println("\n" + "=".repeat(50));
-            System.out.println("TOURNAMENT COMPLETE!");
-            System.out.println("=".repeat(50));
+        } else if (announcer.isEnabled()) {
+            announcer.println("\n" + "=".repeat(50));
+            announcer.println("TOURNAMENT COMPLETE!");
+            announcer.println("=".repeat(50));
             printTournamentSummary();
         }
+        if (event.shouldCommit()) {
+            event.fill(this, round, round.equals(currentRound) ? "" : currentRound, matches);
+            event.commit();
+        }
+    }
+    
+    /**
+     * Plays one match of a round
+     */
+    private void playMatch(List<Match> matches, int index) {
+        if (announcer.isEnabled()) {
+            announcer.println("\n--- Match " + (index + 1) + " of " + matches.size() + " ---");
+        }
+        Match match = matches.get(index);
+        if (engine == Engine.KERNEL) {
+            match.playWithKernel();
+            if (exporter != null) {
+                exporter.export(match);
+            }
+        } else {
+            if (exporter != null) {
+                match.addListener(exporter.recorder(match));
+            }
+            match.play();
+        }
+        if (exporter != null) {
+            match.releaseDetail();
+        }
+        
+        Map<Player.Gender, Leaderboard> boards = leaderboards;
+        if (boards != null) {
+            boards.get(match.getPlayer1().getGender()).onMatchComplete(match);
+        }
+    }
+    
+    /**
+     * Plays all matches of a round on the executor and waits for all of them.
+     * Each match only uses its own random stream, so the results are the same
+     * as when the matches are played one after another.
+     */
+    private void playMatchesInParallel(List<Match> matches) {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[matches.size()];
+        for (int i = 0; i < matches.size(); i++) {
+            int index = i;
+            futures[i] = CompletableFuture.runAsync(() -> playMatch(matches, index), executor);
+        }
+        
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
     
     /**
      * Advances winners to the next round
      */
     private void advanceToNextRound() {
-        int currentRoundIndex = Arrays.asList(ROUND_NAMES).indexOf(currentRound);
-        if (currentRoundIndex >= ROUND_NAMES.length - 1) {
+        int currentRoundIndex = Arrays.asList(roundNames).indexOf(currentRound);
+        if (currentRoundIndex >= roundNames.length - 1) {
             return;  // Already at finals
         }
         
-        String nextRound = ROUND_NAMES[currentRoundIndex + 1];
-        int nextPoints = POINTS_PER_ROUND[currentRoundIndex + 1];
+        String nextRound = roundNames[currentRoundIndex + 1];
+        int nextPoints = pointsPerRound[currentRoundIndex + 1];
         
         List<Match> currentMatches = matchesByRound.get(currentRound);
         List<Player> mensWinners = new ArrayList<>();
@@ -343,6 +724,12 @@ public class Tournament {
             }
         }
         
+        // Players with a bye join the winners of the first round
+        if (currentRoundIndex == 0) {
+            mensWinners = addByes(mensWinners, mensPlayers, currentMatches);
+            womensWinners = addByes(womensWinners, womensPlayers, currentMatches);
+        }
+        
         // Create next round matches
         if (!mensWinners.isEmpty()) {
             createMatchesForRound(mensWinners, Match.Category.MENS_SINGLES, 
@@ -354,19 +741,98 @@ public class Tournament {
         }
         
         currentRound = nextRound;
-        System.out.println("\nAdvancing to " + nextRound + "...");
+        if (journal != null) {
+            journal.recordRoundAdvanced(currentRoundIndex + 1);
+        }
+        if (eventBus != null) {
+            eventBus.publishRoundAdvanced(currentRoundIndex + 1);
+        }
+        if (announcer.isEnabled()) {
+            announcer.println("\nAdvancing to " + nextRound + "...");
+        }
+    }
+    
+    /**
+     * Restores the players and referees read from a TournamentSnapshot
+     */
+    void restorePeople(List<Player> mensPlayers, List<Player> womensPlayers, List<Referee> referees) {
+        this.mensPlayers.addAll(mensPlayers);
+        this.womensPlayers.addAll(womensPlayers);
+        mensPlayers.forEach(this::indexPlayer);
+        womensPlayers.forEach(this::indexPlayer);
+        for (Referee referee : referees) {
+            referee.setAnnouncer(announcer);
+            this.referees.add(referee);
+        }
+    }
+    
+    /**
+     * Restores the matches of a round read from a TournamentSnapshot
+     */
+    void restoreRound(String round, List<Match> matches) {
+        matchesByRound.get(round).addAll(matches);
+    }
+    
+    /**
+     * Restores the progress and statistics read from a TournamentSnapshot
+     */
+    void restoreProgress(String currentRound, int matchesCreated, long totalSpectators,
+                         int totalBallsUsed, long glassesSold, long hatsSold, double ticketRevenue) {
+        this.currentRound = currentRound;
+        this.matchesCreated = matchesCreated;
+        this.totalSpectators = totalSpectators;
+        this.totalBallsUsed = totalBallsUsed;
+        this.glassesSold = glassesSold;
+        this.hatsSold = hatsSold;
+        this.ticketRevenue = ticketRevenue;
+    }
+    
+    /**
+     * Gets a dispute stream for a referee restored from a TournamentSnapshot
+     */
+    SplittableRandom refereeStream(int index) {
+        return deriveStream(REFEREE_STREAM, index);
+    }
+    
+    /**
+     * Gets the number of matches created so far, the serial of the next match
+     */
+    int getMatchesCreated() {
+        return matchesCreated;
+    }
+    
+    /**
+     * Derives an independent random stream from the tournament seed
+     * @param kind the kind of stream (match, round)
+     * @param index the number of the stream within its kind
+     * @return a new stream, always the same for the same seed, kind and index
+     */
+    private SplittableRandom deriveStream(long kind, long index) {
+        return new SplittableRandom(mix64(seed + mix64((kind << 32) + index)));
+    }
+    
+    /**
+     * 64-bit finalizer (Stafford variant 13), spreads nearby keys over the seed space
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
     }
     
     /**
      * Prints tournament summary
      */
     public void printTournamentSummary() {
-        System.out.println("\n" + "=".repeat(60));
-        System.out.println("TOURNAMENT SUMMARY: " + grandSlam + " " + year);
-        System.out.println("=".repeat(60));
-        System.out.println("Location: " + grandSlam.getCity());
-        System.out.println("Surface: " + grandSlam.getSurface());
-        System.out.println();
+        // Explicit requests still reach the console when the tournament runs silently
+        Announcer out = announcer.isEnabled() ? announcer : ConsoleAnnouncer.INSTANCE;
+        
+        out.println("\n" + "=".repeat(60));
+        out.println("TOURNAMENT SUMMARY: " + grandSlam + " " + year);
+        out.println("=".repeat(60));
+        out.println("Location: " + grandSlam.getCity());
+        out.println("Surface: " + grandSlam.getSurface());
+        out.println("");
         
         // Find champions
         List<Match> finals = matchesByRound.get("Finals");
@@ -381,20 +847,21 @@ public class Tournament {
             }
         }
         
-        System.out.println("CHAMPIONS:");
-        System.out.println("Men's Singles: " + (mensChampion != null ? mensChampion.getFullName() : "N/A"));
-        System.out.println("Women's Singles: " + (womensChampion != null ? womensChampion.getFullName() : "N/A"));
-        System.out.println();
+        out.println("CHAMPIONS:");
+        out.println("Men's Singles: " + (mensChampion != null ? mensChampion.getFullName() : "N/A"));
+        out.println("Women's Singles: " + (womensChampion != null ? womensChampion.getFullName() : "N/A"));
+        out.println("");
         
-        System.out.println("STATISTICS:");
-        System.out.println("Total Spectators: " + totalSpectators);
-        System.out.println("Average Spectators per Match: " + (totalSpectators / getTotalMatches()));
-        System.out.println("Total Balls Used: " + totalBallsUsed);
-        System.out.println("Glasses Sold: " + glassesSold);
-        System.out.println("Hats Sold: " + hatsSold);
-        System.out.println("Total Matches Played: " + getTotalMatches());
-        System.out.println("Total Referees: " + referees.size());
-        System.out.println("=".repeat(60));
+        out.println("STATISTICS:");
+        out.println("Total Spectators: " + totalSpectators);
+        out.println("Average Spectators per Match: " + (totalSpectators / getTotalMatches()));
+        out.println("Total Balls Used: " + totalBallsUsed);
+        out.println("Glasses Sold: " + glassesSold);
+        out.println("Hats Sold: " + hatsSold);
+        out.println("Ticket Revenue: $" + String.format("%.2f", ticketRevenue));
+        out.println("Total Matches Played: " + getTotalMatches());
+        out.println("Total Referees: " + referees.size());
+        out.println("=".repeat(60));
     }
     
     /**
@@ -417,6 +884,18 @@ public class Tournament {
         return year;
     }
     
+    public long getSeed() {
+        return seed;
+    }
+    
+    /**
+     * Gets the number of players per category the draw was made for
+     * @return the draw size, DEFAULT_DRAW_SIZE unless given to the constructor
+     */
+    public int getDrawSize() {
+        return drawSize;
+    }
+    
     public List<Player> getMensPlayers() {
         return new ArrayList<>(mensPlayers);
     }
@@ -425,14 +904,307 @@ public class Tournament {
         return new ArrayList<>(womensPlayers);
     }
     
+    /**
+     * Gets the name index over all players of the tournament, built on first use
+     * @return the live index, kept up to date as players are added or renamed
+     */
+    public synchronized PlayerIndex getPlayerIndex() {
+        if (playerIndex == null) {
+            playerIndex = new PlayerIndex(mensPlayers);
+            womensPlayers.forEach(playerIndex::add);
+        }
+        return playerIndex;
+    }
+    
+    /**
+     * Gets the leaderboard of the men's or women's players, built on first use
+     * (the rating engine's when one is set)
+     * @param gender MALE or FEMALE
+     * @return the live leaderboard, updated as every match finishes
+     */
+    public Leaderboard getLeaderboard(Player.Gender gender) {
+        if (gender == null) {
+            throw new IllegalArgumentException("Gender cannot be null");
+        }
+        Map<Player.Gender, Leaderboard> boards = leaderboards;
+        if (boards != null) {
+            return boards.get(gender);
+        }
+        synchronized (this) {
+            if (leaderboards == null) {
+                boards = new EnumMap<>(Player.Gender.class);
+                boards.put(Player.Gender.MALE, new Leaderboard(Player.Gender.MALE, mensPlayers));
+                boards.put(Player.Gender.FEMALE, new Leaderboard(Player.Gender.FEMALE, womensPlayers));
+                leaderboards = boards;
+            }
+            return leaderboards.get(gender);
+        }
+    }
+    
+    public RatingEngine getRatingEngine() {
+        return ratingEngine;
+    }
+    
+    /**
+     * Rates all players of the tournament with a rating engine, which from
+     * then on updates ratings after every match and derives the rankings.
+     * The leaderboards become the engine's, ordered by rating.
+     * @param ratingEngine e.g. new RatingEngine(new EloRating())
+     */
+    public synchronized void setRatingEngine(RatingEngine ratingEngine) {
+        if (ratingEngine == null) {
+            throw new IllegalArgumentException("Rating engine cannot be null");
+        }
+        if (this.ratingEngine != null) {
+            throw new IllegalStateException("Players are already rated");
+        }
+        
+        this.ratingEngine = ratingEngine;
+        mensPlayers.forEach(ratingEngine::register);
+        womensPlayers.forEach(ratingEngine::register);
+        
+        Map<Player.Gender, Leaderboard> boards = new EnumMap<>(Player.Gender.class);
+        for (Player.Gender gender : Player.Gender.values()) {
+            boards.put(gender, ratingEngine.getLeaderboard(gender));
+        }
+        leaderboards = boards;
+    }
+    
     public List<Referee> getReferees() {
         return new ArrayList<>(referees);
     }
     
+    /**
+     * Gets the spectators of all rounds played so far
+     * @return the tournament's spectator pool (live, not a copy)
+     */
+    public SpectatorPool getSpectatorPool() {
+        return spectators;
+    }
+    
+    public long getTotalSpectators() {
+        return totalSpectators;
+    }
+    
+    public int getTotalBallsUsed() {
+        return totalBallsUsed;
+    }
+    
+    public long getGlassesSold() {
+        return glassesSold;
+    }
+    
+    public long getHatsSold() {
+        return hatsSold;
+    }
+    
+    public double getTicketRevenue() {
+        return ticketRevenue;
+    }
+    
+    public Executor getExecutor() {
+        return executor;
+    }
+    
+    /**
+     * Sets the executor that plays the matches of a round in parallel.
+     * The tournament does not shut the executor down.
+     * @param executor e.g. ForkJoinPool.commonPool(), or null to play matches one after another
+     */
+    public void setExecutor(Executor executor) {
+        if (executor != null && eventBus != null) {
+            throw new IllegalStateException("The score event bus needs matches played one after another");
+        }
+        this.executor = executor;
+    }
+    
+    public CrowdMode getCrowdMode() {
+        return crowdMode;
+    }
+    
+    /**
+     * Sets how spectators are generated for the rounds still to be played.
+     * AGGREGATE keeps the summary statistics but leaves the spectator pool empty.
+     * @param crowdMode INDIVIDUAL (default) or AGGREGATE
+     */
+    public void setCrowdMode(CrowdMode crowdMode) {
+        if (crowdMode == null) {
+            throw new IllegalArgumentException("Crowd mode cannot be null");
+        }
+        this.crowdMode = crowdMode;
+    }
+    
+    public Engine getEngine() {
+        return engine;
+    }
+    
+    /**
+     * Sets how the matches still to be played are simulated.
+     * Both engines produce the same results for the same seed; KERNEL keeps
+     * no Set or Game objects and records only match totals for the players.
+     * @param engine OBJECT (default) or KERNEL
+     */
+    public void setEngine(Engine engine) {
+        if (engine == null) {
+            throw new IllegalArgumentException("Engine cannot be null");
+        }
+        if (engine == Engine.KERNEL && pointLogging) {
+            throw new IllegalStateException("Point logging needs the OBJECT engine");
+        }
+        if (engine == Engine.KERNEL && journal != null) {
+            throw new IllegalStateException("The event journal needs the OBJECT engine");
+        }
+        if (engine == Engine.KERNEL && eventBus != null) {
+            throw new IllegalStateException("The score event bus needs the OBJECT engine");
+        }
+        this.engine = engine;
+    }
+    
+    public boolean isPointLogging() {
+        return pointLogging;
+    }
+    
+    /**
+     * Sets whether every match keeps a point-by-point PointLog.
+     * Turning it on also covers the matches of the current round not yet started.
+     * @param pointLogging true to record the points of all matches
+     */
+    public void setPointLogging(boolean pointLogging) {
+        if (pointLogging && engine == Engine.KERNEL) {
+            throw new IllegalStateException("Point logging needs the OBJECT engine");
+        }
+        this.pointLogging = pointLogging;
+        if (pointLogging) {
+            for (Match match : matchesByRound.get(currentRound)) {
+                if (match.getSets().isEmpty()) {
+                    match.enablePointLog();
+                }
+            }
+        }
+    }
+    
+    public EventJournal getJournal() {
+        return journal;
+    }
+    
+    /**
+     * Sets the journal recording every point, game, set and match and every
+     * round advanced. Matches already created get a writer too, unless they
+     * have started. The tournament does not close the journal.
+     * @param journal the event journal, or null to stop recording new matches
+     */
+    public void setJournal(EventJournal journal) {
+        if (journal != null && engine == Engine.KERNEL) {
+            throw new IllegalStateException("The event journal needs the OBJECT engine");
+        }
+        this.journal = journal;
+        if (journal != null) {
+            // Matches are numbered in creation order, the current round's were created last
+            List<Match> matches = matchesByRound.get(currentRound);
+            int serial = matchesCreated - matches.size();
+            for (Match match : matches) {
+                if (match.getSets().isEmpty() && !match.isComplete()) {
+                    match.addListener(journal.writer(match, serial));
+                }
+                serial++;
+            }
+        }
+    }
+    
+    public ScoreEventBus getEventBus() {
+        return eventBus;
+    }
+    
+    /**
+     * Sets the bus every point, game, set, match and round advanced is
+     * published to as it happens, for consumers on their own threads.
+     * The bus has a single publisher, so matches must be played one after
+     * another (no executor). Matches already created get a publisher too,
+     * unless they have started. The tournament does not close the bus.
+     * Play waits for consumers subscribed with ScoreEventBus.Overflow.BLOCK
+     * when they fall a ring behind; consumers subscribed with DROP (the
+     * default) miss events instead, counted by eventBus.getDroppedCount().
+     * @param eventBus the score event bus, or null to stop publishing new matches
+     */
+    public void setEventBus(ScoreEventBus eventBus) {
+        if (eventBus != null && engine == Engine.KERNEL) {
+            throw new IllegalStateException("The score event bus needs the OBJECT engine");
+        }
+        if (eventBus != null && executor != null) {
+            throw new IllegalStateException("The score event bus needs matches played one after another");
+        }
+        this.eventBus = eventBus;
+        if (eventBus != null) {
+            // Matches are numbered in creation order, the current round's were created last
+            List<Match> matches = matchesByRound.get(currentRound);
+            int serial = matchesCreated - matches.size();
+            for (Match match : matches) {
+                if (match.getSets().isEmpty() && !match.isComplete()) {
+                    match.addListener(eventBus.publisher(match, serial));
+                }
+                serial++;
+            }
+        }
+    }
+    
+    public ResultExporter getExporter() {
+        return exporter;
+    }
+    
+    /**
+     * Sets the exporter every match is written to as soon as it is over.
+     * Exported matches release their sets and games (Match.releaseDetail()),
+     * so a tournament keeps only the score by set of its matches. The
+     * tournament does not close the exporter.
+     * @param exporter the result exporter, or null to keep the full detail
+     */
+    public void setExporter(ResultExporter exporter) {
+        this.exporter = exporter;
+    }
+    
+    public Announcer getAnnouncer() {
+        return announcer;
+    }
+    
+    /**
+     * Sets where the tournament and all of its referees announce to.
+     * Use SilentAnnouncer.INSTANCE for headless runs.
+     * @param announcer the announcement sink
+     */
+    public void setAnnouncer(Announcer announcer) {
+        if (announcer == null) {
+            throw new IllegalArgumentException("Announcer cannot be null");
+        }
+        this.announcer = announcer;
+        for (Referee referee : referees) {
+            referee.setAnnouncer(announcer);
+        }
+    }
+    
     public String getCurrentRound() {
         return currentRound;
     }
     
+    /**
+     * Gets the names of all rounds, from the first round to the finals
+     * @return the round names in playing order
+     */
+    public List<String> getRoundNames() {
+        return List.of(roundNames);
+    }
+    
+    /**
+     * Gets the ATP/WTA points awarded for a round
+     * @param roundIndex index into getRoundNames()
+     * @return the ranking points for that round
+     */
+    public int getPointsForRound(int roundIndex) {
+        if (roundIndex < 0 || roundIndex >= pointsPerRound.length) {
+            throw new IllegalArgumentException("Invalid round index: " + roundIndex);
+        }
+        return pointsPerRound[roundIndex];
+    }
+    
     public List<Match> getMatchesForRound(String round) {
         return new ArrayList<>(matchesByRound.getOrDefault(round, new ArrayList<>()));
     }
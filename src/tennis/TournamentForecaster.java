@@ -0,0 +1,343 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Monte Carlo forecaster for a tournament draw.
+ * Plays the complete draw, from a freshly shuffled first round to the finals,
+ * many times in parallel and reports for every player the probability of
+ * reaching each round (and of winning the title).
+ *
+ * The tournament itself is never played: each fork/join leaf works on its own
+ * copies of the players and of a referee, so the mutable statistics counters
+ * are never shared between concurrent simulations.
+ */
+public class TournamentForecaster {
+
+    // Simulations per leaf task, large enough to amortise copying the players
+    private static final int MIN_LEAF_SIZE = 16;
+    
+    // Leaves a forecast is split into, enough for fast leaves to steal from
+    // slow ones on any pool; fixed so the split, and the result, depend only
+    // on the seed and the number of simulations
+    private static final int LEAVES = 256;
+
+    private final List<Player> mensPlayers;
+    private final List<Player> womensPlayers;
+    private final Referee referee;
+    private final List<String> roundNames;
+    private final int[] roundPoints;
+
+    /**
+     * Constructor for TournamentForecaster
+     * @param tournament a tournament whose players and referees have been generated
+     */
+    public TournamentForecaster(Tournament tournament) {
+        if (tournament == null) {
+            throw new IllegalArgumentException("Tournament cannot be null");
+        }
+        if (tournament.getReferees().isEmpty()) {
+            throw new IllegalArgumentException("Tournament has no referees");
+        }
+
+        this.mensPlayers = tournament.getMensPlayers();
+        this.womensPlayers = tournament.getWomensPlayers();
+        this.referee = tournament.getReferees().get(0);
+        this.roundNames = tournament.getRoundNames();
+        this.roundPoints = new int[roundNames.size()];
+        for (int i = 0; i < roundPoints.length; i++) {
+            roundPoints[i] = tournament.getPointsForRound(i);
+        }
+
+        checkDrawSize(mensPlayers);
+        checkDrawSize(womensPlayers);
+    }
+
+    /**
+     * Checks that a draw fills every round exactly
+     */
+    private void checkDrawSize(List<Player> players) {
+        if (players.size() != (1 << roundNames.size())) {
+            throw new IllegalArgumentException("Draw of " + players.size() +
+                                               " players does not fit " + roundNames.size() + " rounds");
+        }
+    }
+
+    /**
+     * Runs the forecast on the common fork/join pool
+     * @param simulations number of complete tournaments to simulate
+     * @param seed seed for the draw shuffles and matches
+     * @return the forecast
+     */
+    public Forecast forecast(int simulations, long seed) {
+        return forecast(simulations, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs the forecast on the given pool
+     * @param simulations number of complete tournaments to simulate
+     * @param seed seed for the draw shuffles and matches, the results are
+     *             reproducible for the same seed on any pool
+     * @param pool the fork/join pool to run on
+     * @return the forecast
+     */
+    public Forecast forecast(int simulations, long seed, ForkJoinPool pool) {
+        if (simulations <= 0) {
+            throw new IllegalArgumentException("Number of simulations must be positive");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+
+        int leafSize = Math.max(MIN_LEAF_SIZE, simulations / LEAVES);
+        SimulationTask task = new SimulationTask(0, simulations, leafSize, new SplittableRandom(seed));
+        Counts counts = pool.invoke(task);
+
+        return new Forecast(simulations, counts);
+    }
+
+    /**
+     * Fork/join task simulating a range of tournaments
+     */
+    private class SimulationTask extends RecursiveTask<Counts> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int leafSize;
+        private final transient SplittableRandom random;  // Tasks are never serialized
+
+        SimulationTask(int from, int to, int leafSize, SplittableRandom random) {
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+            this.random = random;
+        }
+
+        @Override
+        protected Counts compute() {
+            if (to - from <= leafSize) {
+                return simulateRange(to - from, random);
+            }
+
+            int middle = (from + to) >>> 1;
+            SimulationTask left = new SimulationTask(from, middle, leafSize, random.split());
+            SimulationTask right = new SimulationTask(middle, to, leafSize, random);
+            left.fork();
+            Counts counts = right.compute();
+            counts.add(left.join());
+            return counts;
+        }
+    }
+
+    /**
+     * Simulates a number of tournaments on private copies of all participants
+     */
+    private Counts simulateRange(int simulations, SplittableRandom random) {
+        Player[] mens = copyPlayers(mensPlayers);
+        Player[] womens = copyPlayers(womensPlayers);
+        Referee umpire = new Referee(referee);
+        Counts counts = new Counts(mens.length, womens.length, roundNames.size());
+
+        int[] draw = new int[mens.length];
+        for (int i = 0; i < simulations; i++) {
+            simulateDraw(mens, Match.Category.MENS_SINGLES, umpire, draw, counts.mens, random);
+            simulateDraw(womens, Match.Category.WOMENS_SINGLES, umpire, draw, counts.womens, random);
+        }
+
+        return counts;
+    }
+
+    /**
+     * Plays one category from the first round to the finals
+     * @param players private copies of the players
+     * @param draw scratch array holding player indices in bracket order
+     * @param reached reached[player][round] counters, the extra last column counts titles
+     */
+    private void simulateDraw(Player[] players, Match.Category category, Referee umpire,
+                              int[] draw, long[][] reached, SplittableRandom random) {
+        // Fisher-Yates shuffle, as initializeFirstRound does
+        for (int i = 0; i < players.length; i++) {
+            draw[i] = i;
+        }
+        for (int i = players.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = draw[i];
+            draw[i] = draw[j];
+            draw[j] = temp;
+        }
+
+        int remaining = players.length;
+        for (int round = 0; round < roundNames.size(); round++) {
+            for (int i = 0; i < remaining; i++) {
+                reached[draw[i]][round]++;
+            }
+
+            // Winners move to the front of the array in bracket order
+            for (int i = 0; i < remaining; i += 2) {
+                Player player1 = players[draw[i]];
+                Match match = new Match(player1, players[draw[i + 1]], umpire, category,
+                                        roundNames.get(round), roundPoints[round], random);
+                match.play();
+                draw[i / 2] = (match.getWinner() == player1) ? draw[i] : draw[i + 1];
+            }
+            remaining /= 2;
+        }
+
+        reached[draw[0]][roundNames.size()]++;
+    }
+
+    /**
+     * Makes silent private copies of the players
+     */
+    private static Player[] copyPlayers(List<Player> players) {
+        Player[] copies = new Player[players.size()];
+        for (int i = 0; i < copies.length; i++) {
+            copies[i] = new Player(players.get(i));
+        }
+        return copies;
+    }
+
+    /**
+     * Per-player counters of rounds reached, merged across leaf tasks
+     */
+    private static class Counts {
+
+        private final long[][] mens;
+        private final long[][] womens;
+
+        Counts(int mensCount, int womensCount, int rounds) {
+            this.mens = new long[mensCount][rounds + 1];
+            this.womens = new long[womensCount][rounds + 1];
+        }
+
+        void add(Counts other) {
+            addAll(mens, other.mens);
+            addAll(womens, other.womens);
+        }
+
+        private static void addAll(long[][] into, long[][] from) {
+            for (int i = 0; i < into.length; i++) {
+                for (int j = 0; j < into[i].length; j++) {
+                    into[i][j] += from[i][j];
+                }
+            }
+        }
+    }
+
+    /**
+     * Result of a forecast: per-player probabilities of reaching each round
+     */
+    public class Forecast {
+
+        private final int simulations;
+        private final Map<Player, long[]> reached;
+
+        private Forecast(int simulations, Counts counts) {
+            this.simulations = simulations;
+            this.reached = new IdentityHashMap<>();
+            for (int i = 0; i < mensPlayers.size(); i++) {
+                reached.put(mensPlayers.get(i), counts.mens[i]);
+            }
+            for (int i = 0; i < womensPlayers.size(); i++) {
+                reached.put(womensPlayers.get(i), counts.womens[i]);
+            }
+        }
+
+        public int getSimulations() {
+            return simulations;
+        }
+
+        public List<String> getRoundNames() {
+            return roundNames;
+        }
+
+        /**
+         * Gets the probability that a player reaches a round
+         * @param player a player of the forecast tournament
+         * @param roundIndex index into getRoundNames()
+         * @return probability between 0.0 and 1.0
+         */
+        public double getProbability(Player player, int roundIndex) {
+            if (roundIndex < 0 || roundIndex >= roundNames.size()) {
+                throw new IllegalArgumentException("Invalid round index: " + roundIndex);
+            }
+            return (double) countsFor(player)[roundIndex] / simulations;
+        }
+
+        /**
+         * Gets the probability that a player reaches a round
+         * @param player a player of the forecast tournament
+         * @param round the round name, e.g. "Quarterfinals"
+         * @return probability between 0.0 and 1.0
+         */
+        public double getProbability(Player player, String round) {
+            int roundIndex = roundNames.indexOf(round);
+            if (roundIndex < 0) {
+                throw new IllegalArgumentException("Unknown round: " + round);
+            }
+            return getProbability(player, roundIndex);
+        }
+
+        /**
+         * Gets the probability that a player wins the tournament
+         * @param player a player of the forecast tournament
+         * @return probability between 0.0 and 1.0
+         */
+        public double getTitleProbability(Player player) {
+            return (double) countsFor(player)[roundNames.size()] / simulations;
+        }
+
+        private long[] countsFor(Player player) {
+            long[] counts = reached.get(player);
+            if (counts == null) {
+                throw new IllegalArgumentException("Player is not part of this forecast");
+            }
+            return counts;
+        }
+
+        /**
+         * Gets the favourites of a category, best title odds first
+         * @param gender the category
+         * @param count maximum number of players returned
+         * @return players sorted by title probability
+         */
+        public List<Player> getFavourites(Player.Gender gender, int count) {
+            List<Player> players = new ArrayList<>(gender == Player.Gender.MALE ? mensPlayers : womensPlayers);
+            players.sort(Comparator.comparingDouble(this::getTitleProbability).reversed());
+            return Collections.unmodifiableList(players.subList(0, Math.min(count, players.size())));
+        }
+
+        /**
+         * Gets a table of round probabilities for the favourites of a category
+         * @param gender the category
+         * @param count number of players listed
+         * @return the table as text
+         */
+        public String getSummary(Player.Gender gender, int count) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("\n=== FORECAST (").append(simulations).append(" simulations) ===\n");
+            for (Player player : getFavourites(gender, count)) {
+                sb.append(player.getFullName()).append(" (#").append(player.getRanking()).append(")");
+                for (int round = 1; round < roundNames.size(); round++) {
+                    sb.append(String.format(" %s %.1f%%", roundNames.get(round), 100 * getProbability(player, round)));
+                }
+                sb.append(String.format(" Title %.1f%%", 100 * getTitleProbability(player))).append("\n");
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,503 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tennis;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary snapshot of a whole tournament, written and read through a
+ * memory-mapped file. A snapshot holds the players with their statistics,
+ * the referees, the matches of every round, the current round and the
+ * spectator totals; a tournament read back from it resumes with
+ * playCurrentRound() exactly as the saved tournament would have.
+ *
+ * Layout (big-endian):
+ * <pre>
+ *   header     magic "TSNP", version, Grand Slam, year, seed, draw size, modes,
+ *              rating model, current round, matches created, spectator totals
+ *   players    count, then men and women (identity, attributes, rating and
+ *              deviation, 12 statistics)
+ *   referees   count, then identity, experience, matches officiated, reputation
+ *   rounds     count, then per round: match count and per match the category,
+ *              player and referee indices, set count (0 if not played)
+ *              and the games of each set
+ * </pre>
+ * Strings are UTF-8 with a short length prefix (-1 for null), dates are
+ * epoch days. A complete tournament of 128 players per category takes about 40 KB.
+ *
+ * A rated tournament is read back with a new RatingEngine of the same
+ * model (EloRating or GlickoRating; other models cannot be saved) rating
+ * only its own players, each with their saved rating and deviation and in
+ * their saved ranking order.
+ *
+ * Not saved: the spectator pool (only its totals), the point logs and
+ * MatchKernel results of played matches, the players of a shared
+ * RatingEngine outside this tournament, and the announcer and executor.
+ * Matches not yet played are recreated from the seed, so they are played
+ * exactly as they would have been; the streams used for setup and for
+ * referees' dispute decisions restart from the seed.
+ */
+public final class TournamentSnapshot {
+
+    private static final int MAGIC = 0x54534E50;  // "TSNP"
+    private static final short VERSION = 3;
+    private static final int STATISTICS = 12;
+
+    // Rating models, as saved
+    private static final int NOT_RATED = 0;
+    private static final int ELO = 1;
+    private static final int GLICKO = 2;
+
+    private TournamentSnapshot() {
+        // Static reader and writer only
+    }
+
+    /**
+     * Writes a snapshot of a tournament, replacing the file if it exists.
+     * The tournament must not be playing while the snapshot is taken, and
+     * every match must be either complete or not started. The file is left
+     * to the operating system to write back.
+     * @param tournament the tournament to save
+     * @param path the snapshot file
+     * @return the size of the snapshot in bytes
+     * @throws IOException if the file cannot be written
+     * @throws IllegalStateException if a match is in progress or the players
+     *         are rated by a model other than EloRating or GlickoRating
+     */
+    public static long write(Tournament tournament, Path path) throws IOException {
+        if (tournament == null) {
+            throw new IllegalArgumentException("Tournament cannot be null");
+        }
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+
+        // First pass measures, so the file can be mapped at its final size
+        Encoder sizer = new Encoder(null);
+        encode(tournament, sizer);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, sizer.size);
+            encode(tournament, new Encoder(buffer));
+        }
+        return sizer.size;
+    }
+
+    private static void encode(Tournament tournament, Encoder out) {
+        List<Player> mens = tournament.getMensPlayers();
+        List<Player> womens = tournament.getWomensPlayers();
+        List<Referee> referees = tournament.getReferees();
+        List<String> roundNames = tournament.getRoundNames();
+
+        out.putInt(MAGIC);
+        out.putShort(VERSION);
+        out.putByte(tournament.getGrandSlam().ordinal());
+        out.putShort(tournament.getYear());
+        out.putLong(tournament.getSeed());
+        out.putInt(tournament.getDrawSize());
+        out.putByte(tournament.getCrowdMode().ordinal());
+        out.putByte(tournament.getEngine().ordinal());
+        out.putByte(tournament.isPointLogging() ? 1 : 0);
+        encodeRatingModel(tournament.getRatingEngine(), out);
+        out.putByte(roundNames.indexOf(tournament.getCurrentRound()));
+        out.putInt(tournament.getMatchesCreated());
+        out.putLong(tournament.getTotalSpectators());
+        out.putInt(tournament.getTotalBallsUsed());
+        out.putLong(tournament.getGlassesSold());
+        out.putLong(tournament.getHatsSold());
+        out.putDouble(tournament.getTicketRevenue());
+
+        // Players are referred to by their index, men first
+        Map<Player, Integer> playerIndex = new IdentityHashMap<>();
+        out.putInt(mens.size());
+        out.putInt(womens.size());
+        for (Player player : mens) {
+            playerIndex.put(player, playerIndex.size());
+            encodePlayer(player, out);
+        }
+        for (Player player : womens) {
+            playerIndex.put(player, playerIndex.size());
+            encodePlayer(player, out);
+        }
+
+        Map<Referee, Integer> refereeIndex = new IdentityHashMap<>();
+        out.putInt(referees.size());
+        for (Referee referee : referees) {
+            refereeIndex.put(referee, refereeIndex.size());
+            encodePerson(referee, out);
+            out.putShort(referee.getExperienceYears());
+            out.putInt(referee.getMatchesOfficiated());
+            out.putDouble(referee.getReputation());
+        }
+
+        out.putByte(roundNames.size());
+        for (String round : roundNames) {
+            List<Match> matches = tournament.getMatchesForRound(round);
+            out.putInt(matches.size());
+            for (Match match : matches) {
+                if (!match.isComplete() && match.getSetCount() > 0) {
+                    throw new IllegalStateException("Cannot snapshot a match in progress: " + match);
+                }
+                out.putByte(match.getCategory().ordinal());
+                out.putInt(playerIndex.get(match.getPlayer1()));
+                out.putInt(playerIndex.get(match.getPlayer2()));
+                out.putInt(refereeIndex.get(match.getReferee()));
+
+                int setCount = match.isComplete() ? match.getSetCount() : 0;
+                out.putByte(setCount);
+                for (int set = 0; set < setCount; set++) {
+                    out.putByte(match.getPlayer1Games(set));
+                    out.putByte(match.getPlayer2Games(set));
+                }
+            }
+        }
+    }
+
+    private static void encodeRatingModel(RatingEngine engine, Encoder out) {
+        RatingModel model = (engine != null) ? engine.getModel() : null;
+        if (model == null) {
+            out.putByte(NOT_RATED);
+        } else if (model instanceof EloRating elo) {
+            out.putByte(ELO);
+            out.putDouble(elo.getKFactor());
+        } else if (model instanceof GlickoRating glicko) {
+            out.putByte(GLICKO);
+            out.putDouble(glicko.getInitialDeviation());
+            out.putDouble(glicko.getDeviationGrowth());
+        } else {
+            throw new IllegalStateException("Cannot snapshot rating model: " + model);
+        }
+    }
+
+    private static void encodePerson(Person person, Encoder out) {
+        out.putString(person.getBirthName());
+        out.putString(person.getFirstName());
+        out.putInt((int) person.getBirthDate().toEpochDay());
+        out.putString(person.getPlaceOfBirth());
+        out.putString(person.getNationality());
+        out.putDouble(person.getHeight());
+        out.putDouble(person.getWeight());
+        out.putString(person.getCommonName());
+        out.putString(person.getNickname());
+        LocalDate dateOfDeath = person.getDateOfDeath();
+        out.putByte(dateOfDeath != null ? 1 : 0);
+        if (dateOfDeath != null) {
+            out.putInt((int) dateOfDeath.toEpochDay());
+        }
+    }
+
+    private static void encodePlayer(Player player, Encoder out) {
+        encodePerson(player, out);
+        out.putByte(player.getPlayingHand().ordinal());
+        out.putByte(player.getGender().ordinal());
+        out.putInt(player.getRanking());
+        out.putString(player.getSponsor());
+        out.putString(player.getCoach());
+        out.putString(player.getAttireColor());
+        out.putDouble(player.getRating());
+        out.putDouble(player.getRatingDeviation());
+
+        synchronized (player) {
+            out.putInt(player.getMatchesWon());
+            out.putInt(player.getMatchesLost());
+            out.putInt(player.getSetsWon());
+            out.putInt(player.getSetsLost());
+            out.putInt(player.getGamesWon());
+            out.putInt(player.getGamesLost());
+            out.putInt(player.getPointsWon());
+            out.putInt(player.getPointsLost());
+            out.putInt(player.getAces());
+            out.putInt(player.getDoubleFaults());
+            out.putInt(player.getBreakPointsConverted());
+            out.putInt(player.getBreakPointsTotal());
+        }
+    }
+
+    /**
+     * Reads a tournament from a snapshot. The tournament announces to the
+     * console and plays matches one after another, as a new tournament does.
+     * @param path the snapshot file
+     * @return the restored tournament, ready for playCurrentRound()
+     * @throws IOException if the file cannot be read
+     */
+    public static Tournament read(Path path) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return decode(buffer);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Snapshot is truncated: " + path, e);
+        }
+    }
+
+    private static Tournament decode(ByteBuffer in) {
+        if (in.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a tournament snapshot");
+        }
+        short version = in.getShort();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported snapshot version: " + version);
+        }
+
+        Tournament.GrandSlam grandSlam = Tournament.GrandSlam.values()[in.get()];
+        int year = in.getShort();
+        long seed = in.getLong();
+        Tournament tournament = new Tournament(grandSlam, year, seed, in.getInt());
+        tournament.setCrowdMode(Tournament.CrowdMode.values()[in.get()]);
+        tournament.setEngine(Tournament.Engine.values()[in.get()]);
+        boolean pointLogging = in.get() == 1;
+        tournament.setPointLogging(pointLogging);
+        RatingEngine ratingEngine = decodeRatingEngine(in);
+        int currentRound = in.get();
+        int matchesCreated = in.getInt();
+        long totalSpectators = in.getLong();
+        int totalBallsUsed = in.getInt();
+        long glassesSold = in.getLong();
+        long hatsSold = in.getLong();
+        double ticketRevenue = in.getDouble();
+
+        int mensCount = in.getInt();
+        int womensCount = in.getInt();
+        List<Player> players = new ArrayList<>(mensCount + womensCount);
+        double[] ratings = new double[2 * (mensCount + womensCount)];
+        for (int i = 0; i < mensCount + womensCount; i++) {
+            players.add(decodePlayer(in));
+            ratings[2 * i] = in.getDouble();
+            ratings[2 * i + 1] = in.getDouble();
+            readStatistics(players.get(i), in);
+        }
+        if (ratingEngine != null) {
+            // A rated player's saved ranking is their position, so restoring
+            // in that order also keeps the order of equal ratings
+            List<Integer> byRanking = new ArrayList<>(players.size());
+            for (int i = 0; i < players.size(); i++) {
+                byRanking.add(i);
+            }
+            byRanking.sort((a, b) -> Integer.compare(players.get(a).getRanking(), players.get(b).getRanking()));
+            for (int i : byRanking) {
+                ratingEngine.restore(players.get(i), ratings[2 * i], ratings[2 * i + 1]);
+            }
+        }
+
+        int refereeCount = in.getInt();
+        List<Referee> referees = new ArrayList<>(refereeCount);
+        for (int i = 0; i < refereeCount; i++) {
+            Person person = decodePerson(in);
+            Referee referee = new Referee(person.getBirthName(), person.getFirstName(),
+                                          person.getBirthDate(), person.getPlaceOfBirth(),
+                                          person.getNationality(), person.getHeight(),
+                                          person.getWeight(), in.getShort(),
+                                          tournament.refereeStream(i));
+            copyOptionalFields(person, referee);
+            int matchesOfficiated = in.getInt();
+            referee.restoreRecord(matchesOfficiated, in.getDouble());
+            referees.add(referee);
+        }
+        tournament.restorePeople(players.subList(0, mensCount),
+                                 players.subList(mensCount, players.size()), referees);
+        if (ratingEngine != null) {
+            // Every player is already rated by the engine, so none is re-registered
+            tournament.setRatingEngine(ratingEngine);
+        }
+
+        List<String> roundNames = tournament.getRoundNames();
+        int roundCount = in.get();
+        if (roundCount != roundNames.size()) {
+            throw new IllegalArgumentException("Snapshot has " + roundCount + " rounds, expected "
+                                               + roundNames.size());
+        }
+        int serial = 0;
+        for (int round = 0; round < roundCount; round++) {
+            int matchCount = in.getInt();
+            List<Match> matches = new ArrayList<>(matchCount);
+            for (int i = 0; i < matchCount; i++) {
+                Match.Category category = Match.Category.values()[in.get()];
+                Player player1 = players.get(in.getInt());
+                Player player2 = players.get(in.getInt());
+                Referee referee = referees.get(in.getInt());
+
+                // Matches are numbered in creation order, round after round
+                Match match = tournament.createMatch(player1, player2, category, roundNames.get(round),
+                                                     tournament.getPointsForRound(round), serial++);
+                if (match.getReferee() != referee) {
+                    throw new IllegalArgumentException("Snapshot does not match its seed");
+                }
+
+                int setCount = in.get();
+                if (setCount > 0) {
+                    int[] player1Games = new int[setCount];
+                    int[] player2Games = new int[setCount];
+                    for (int set = 0; set < setCount; set++) {
+                        player1Games[set] = in.get();
+                        player2Games[set] = in.get();
+                    }
+                    match.restoreResult(player1Games, player2Games);
+                } else if (pointLogging) {
+                    match.enablePointLog();
+                }
+                matches.add(match);
+            }
+            tournament.restoreRound(roundNames.get(round), matches);
+        }
+        if (serial != matchesCreated) {
+            throw new IllegalArgumentException("Snapshot has " + serial + " matches, expected "
+                                               + matchesCreated);
+        }
+
+        tournament.restoreProgress(roundNames.get(currentRound), matchesCreated, totalSpectators,
+                                   totalBallsUsed, glassesSold, hatsSold, ticketRevenue);
+        return tournament;
+    }
+
+    private static RatingEngine decodeRatingEngine(ByteBuffer in) {
+        int model = in.get();
+        return switch (model) {
+            case NOT_RATED -> null;
+            case ELO -> new RatingEngine(new EloRating(in.getDouble()));
+            case GLICKO -> {
+                double initialDeviation = in.getDouble();
+                yield new RatingEngine(new GlickoRating(initialDeviation, in.getDouble()));
+            }
+            default -> throw new IllegalArgumentException("Unknown rating model: " + model);
+        };
+    }
+
+    private static Person decodePerson(ByteBuffer in) {
+        String birthName = getString(in);
+        String firstName = getString(in);
+        LocalDate birthDate = LocalDate.ofEpochDay(in.getInt());
+        String placeOfBirth = getString(in);
+        String nationality = getString(in);
+        double height = in.getDouble();
+        double weight = in.getDouble();
+        Person person = new Person(birthName, firstName, birthDate, placeOfBirth, nationality,
+                                   height, weight);
+        person.setCommonName(getString(in));
+        person.setNickname(getString(in));
+        if (in.get() == 1) {
+            person.setDateOfDeath(LocalDate.ofEpochDay(in.getInt()));
+        }
+        return person;
+    }
+
+    private static Player decodePlayer(ByteBuffer in) {
+        Person person = decodePerson(in);
+        Player.Hand hand = Player.Hand.values()[in.get()];
+        Player.Gender gender = Player.Gender.values()[in.get()];
+        Player player = new Player(person.getBirthName(), person.getFirstName(), person.getBirthDate(),
+                                   person.getPlaceOfBirth(), person.getNationality(), person.getHeight(),
+                                   person.getWeight(), hand, gender, in.getInt());
+        copyOptionalFields(person, player);
+        player.setSponsor(getString(in));
+        player.setCoach(getString(in));
+        player.restoreAttireColor(getString(in));
+        return player;
+    }
+
+    private static void readStatistics(Player player, ByteBuffer in) {
+        int[] stats = new int[STATISTICS];
+        for (int i = 0; i < STATISTICS; i++) {
+            stats[i] = in.getInt();
+        }
+        player.restoreStatistics(stats);
+    }
+
+    private static void copyOptionalFields(Person from, Person to) {
+        to.setCommonName(from.getCommonName());
+        to.setNickname(from.getNickname());
+        to.setDateOfDeath(from.getDateOfDeath());
+    }
+
+    private static String getString(ByteBuffer in) {
+        int length = in.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes primitives to a buffer, or only counts their bytes when there is none
+     */
+    private static final class Encoder {
+
+        private final ByteBuffer out;
+        private int size;
+
+        private Encoder(ByteBuffer out) {
+            this.out = out;
+            this.size = 0;
+        }
+
+        private void putByte(int value) {
+            if (out != null) {
+                out.put((byte) value);
+            }
+            size += Byte.BYTES;
+        }
+
+        private void putShort(int value) {
+            if (out != null) {
+                out.putShort((short) value);
+            }
+            size += Short.BYTES;
+        }
+
+        private void putInt(int value) {
+            if (out != null) {
+                out.putInt(value);
+            }
+            size += Integer.BYTES;
+        }
+
+        private void putLong(long value) {
+            if (out != null) {
+                out.putLong(value);
+            }
+            size += Long.BYTES;
+        }
+
+        private void putDouble(double value) {
+            if (out != null) {
+                out.putDouble(value);
+            }
+            size += Double.BYTES;
+        }
+
+        private void putString(String value) {
+            if (value == null) {
+                putShort(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("String too long for a snapshot: " + bytes.length + " bytes");
+            }
+            putShort(bytes.length);
+            if (out != null) {
+                out.put(bytes);
+            }
+            size += bytes.length;
+        }
+    }
+}